@@ -0,0 +1,184 @@
+package dsa;
+import java.util.*;
+
+public class CapitalPlanner {
+
+    // Number of starting capitals whose greedy runs are cached at once
+    private static final int MAX_CACHED_RUNS = 64;
+
+    // Project data indexed by project id; ids are never reused
+    private int[] revenues = new int[16];
+    private int[] investments = new int[16];
+    private int nextId = 0;
+
+    // Live projects sorted by investment, packed as (investment << 32) | id like MaximizeCapital
+    private long[] byInvestment = new long[16];
+    private int size = 0;
+
+    // Greedy runs cached by starting capital, evicted in least-recently-used order.
+    // Memory: each run keeps (picks + 1) longs of history, plus a heap no larger than twice the
+    // projects it has unlocked, which is released once the run is exhausted. So the cache holds at
+    // most MAX_CACHED_RUNS * (2n ints + (k + 1) longs) for the largest k asked.
+    private final Map<Long, Run> runs = new LinkedHashMap<Long, Run>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Run> eldest) {
+            return size() > MAX_CACHED_RUNS;
+        }
+    };
+
+    /**
+     * Adds a project to the planner.
+     *
+     * Time Complexity: O(n) for the sorted insert (a single array shift)
+     *
+     * @param revenue Revenue gained from the project; must not be negative.
+     * @param investment Capital required to start the project.
+     * @return Id of the new project, used to remove it later.
+     */
+    public int addProject(int revenue, int investment) {
+        if (revenue < 0) throw new IllegalArgumentException("Revenue must not be negative: " + revenue);
+
+        int id = nextId++;
+        if (id == revenues.length) {
+            revenues = Arrays.copyOf(revenues, id * 2);
+            investments = Arrays.copyOf(investments, id * 2);
+        }
+        revenues[id] = revenue;
+        investments[id] = investment;
+
+        // Insert the packed key at its sorted position
+        long key = ((long) investment << 32) | id;
+        if (size == byInvestment.length) byInvestment = Arrays.copyOf(byInvestment, size * 2);
+        int pos = -Arrays.binarySearch(byInvestment, 0, size, key) - 1;
+        System.arraycopy(byInvestment, pos, byInvestment, pos + 1, size - pos);
+        byInvestment[pos] = key;
+        size++;
+
+        invalidateRuns(investment);  // Runs that could already afford it may now pick it
+        return id;
+    }
+
+    /**
+     * Removes a project from the planner.
+     *
+     * @param id Id returned by addProject.
+     * @return True if the project was present and has been removed; false otherwise.
+     */
+    public boolean removeProject(int id) {
+        if (id < 0 || id >= nextId) return false;
+
+        long key = ((long) investments[id] << 32) | id;
+        int pos = Arrays.binarySearch(byInvestment, 0, size, key);
+        if (pos < 0) return false;  // Already removed
+
+        System.arraycopy(byInvestment, pos + 1, byInvestment, pos, size - pos - 1);
+        size--;
+
+        invalidateRuns(investments[id]);  // Runs that unlocked it may have picked it
+        return true;
+    }
+
+    /**
+     * Drops the cached runs that a project with this investment changes.
+     *
+     * A run whose capital is still below the investment has never unlocked the project, so its
+     * picks so far are unaffected, and its next unlocked position is unchanged too: the project's
+     * sorted position lies after every project the run has unlocked. Such a run keeps going and
+     * simply sees the updated project list when it resumes.
+     *
+     * Time Complexity: O(MAX_CACHED_RUNS)
+     */
+    private void invalidateRuns(int investment) {
+        runs.values().removeIf(run -> run.capital() >= investment);
+    }
+
+    /**
+     * @return Number of projects currently in the planner.
+     */
+    public int getProjectCount() {
+        return size;
+    }
+
+    /**
+     * Finds the maximum capital after launching at most k projects starting from capital c.
+     *
+     * The greedy pick sequence only depends on the starting capital, so each run is cached with its
+     * heap state and the capital after every pick. A repeated starting capital answers from the
+     * cached prefix in O(1), and a larger k resumes the cached run instead of starting over.
+     *
+     * Time Complexity: O(1) for a cached prefix, otherwise O((n + k) log n) amortized over the run
+     *
+     * @param k Maximum number of projects to launch.
+     * @param c Initial capital.
+     * @return Final capital after launching at most k projects.
+     */
+    public long maxCapital(int k, long c) {
+        Run run = runs.computeIfAbsent(c, Run::new);
+        return run.capitalAfter(k);
+    }
+
+    /**
+     * One cached greedy run from a fixed starting capital.
+     * history[i] is the capital after i picks; the heap holds unlocked but unpicked revenues.
+     */
+    private class Run {
+        private long[] history = new long[8];
+        private int picks = 0;
+        private int[] heap = new int[8];   // Grown as projects unlock, null once exhausted
+        private int heapSize = 0;
+        private int next = 0;           // Next project (in investment order) that is not yet unlocked
+        private boolean exhausted = false;  // True once no affordable project is left
+
+        Run(long startCapital) {
+            history[0] = startCapital;
+        }
+
+        /**
+         * @return Capital reached so far; projects above it have not been unlocked.
+         */
+        long capital() {
+            return history[picks];
+        }
+
+        long capitalAfter(int k) {
+            // Resume the greedy run until k picks are recorded or nothing is affordable
+            while (picks < k && !exhausted) {
+                long c = history[picks];
+                while (next < size && (int) (byInvestment[next] >> 32) <= c) {
+                    if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+                    heapSize = MaximizeCapital.push(heap, heapSize, revenues[(int) byInvestment[next]]);
+                    next++;
+                }
+                if (heapSize == 0) {
+                    exhausted = true;
+                    heap = null;  // Nothing left to pick; only the history is needed from now on
+                    break;
+                }
+
+                if (picks + 1 == history.length) history = Arrays.copyOf(history, history.length * 2);
+                history[picks + 1] = c + heap[0];
+                heapSize = MaximizeCapital.pop(heap, heapSize);
+                picks++;
+            }
+            return history[Math.min(Math.max(k, 0), picks)];
+        }
+    }
+
+    public static void main(String[] args) {
+        CapitalPlanner planner = new CapitalPlanner();
+        planner.addProject(2, 0);
+        planner.addProject(5, 2);
+        int big = planner.addProject(8, 3);
+
+        System.out.println("Max Capital (k=2, c=0): " + planner.maxCapital(2, 0)); // Output: 7
+        System.out.println("Max Capital (k=3, c=0): " + planner.maxCapital(3, 0)); // Output: 15 (resumes cached run)
+
+        // What-if: drop the most profitable project
+        planner.removeProject(big);
+        System.out.println("Max Capital without project " + big + ": " + planner.maxCapital(3, 0)); // Output: 7
+
+        // What-if: add a cheap high-revenue project
+        planner.addProject(10, 1);
+        System.out.println("Max Capital with new project: " + planner.maxCapital(2, 0)); // Output: 12
+    }
+}
@@ -0,0 +1,74 @@
+package dsa;
+import java.util.*;
+
+public class CryptarithmBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;    // Untimed rounds so the JIT compiles the hot paths
+    private static final int MEASURED_ROUNDS = 5;  // Timed rounds averaged into the reported time
+
+    /**
+     * Compares solution counting by plain backtracking (digits for every letter, check at the leaf),
+     * by the pruned backtracking of CryptarithmEquation, and by CryptarithmCounter's meet in the middle.
+     *
+     * Usage: java dsa.CryptarithmBenchmark [equation ...]
+     */
+    public static void main(String[] args) {
+        String[] puzzles = args.length > 0 ? args : new String[] {
+            "SEND + MORE = MONEY",
+            "STAR + MOON = NIGHT",
+            "AB + CD + EF = GHI",
+            "A + B + C + D = EF"
+        };
+
+        for (String puzzle : puzzles) {
+            CryptarithmEquation equation = new CryptarithmEquation(puzzle);
+            System.out.println(puzzle);
+            report("  plain backtracking", () -> leafCheckCount(equation));
+            report("  pruned backtracking", () -> equation.solutions().count());
+            report("  meet in the middle", () -> CryptarithmCounter.countSolutions(equation));
+        }
+    }
+
+    /**
+     * Runs the task for the warmup and measured rounds and prints the average time per count.
+     */
+    private static void report(String name, java.util.function.LongSupplier task) {
+        long result = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) result = task.getAsLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) result = task.getAsLong();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-22s %10.3f ms/count (%d solutions)%n", name, elapsed / 1e6 / MEASURED_ROUNDS, result);
+    }
+
+    /**
+     * Counting in the style of the original CryptarithmSolver.backtrack: a List<Character> of letters,
+     * boolean digit flags, and the equation checked only once every letter has a digit.
+     */
+    private static long leafCheckCount(CryptarithmEquation equation) {
+        List<Character> letters = equation.getLetters();
+        int[] charToDigit = new int[26];
+        Arrays.fill(charToDigit, -1);
+        return leafCheckCount(equation, letters, 0, charToDigit, new boolean[10]);
+    }
+
+    private static long leafCheckCount(CryptarithmEquation equation, List<Character> letters, int idx,
+                                       int[] charToDigit, boolean[] usedDigits) {
+        if (idx == letters.size()) {
+            return equation.isValid(charToDigit) ? 1 : 0;
+        }
+        long count = 0;
+        char letter = letters.get(idx);
+        for (int digit = equation.isLeading(letter) ? 1 : 0; digit <= 9; digit++) {
+            if (usedDigits[digit]) continue;
+            charToDigit[letter - 'A'] = digit;
+            usedDigits[digit] = true;
+            count += leafCheckCount(equation, letters, idx + 1, charToDigit, usedDigits);
+            usedDigits[digit] = false;
+            charToDigit[letter - 'A'] = -1;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,120 @@
+package dsa;
+import java.util.*;
+
+public class CryptarithmCounter {
+
+    private static final int ALL_DIGITS = (1 << 10) - 1;  // Bit d set = digit d in use
+
+    /**
+     * Counts the solutions of a linear cryptarithm without enumerating them one by one.
+     *
+     * Meet in the middle: the letters are split into two halves. Every injective digit assignment of
+     * the first half is bucketed by its used-digit bitmask and stores its weighted sum; each bucket is
+     * then sorted. For every assignment of the second half (mask mB, sum sB), the matching first-half
+     * assignments are exactly those in buckets whose mask avoids mB, with sum -(constant + sB), found
+     * by binary search. Weights live in a flat long[] and the buckets are flat sorted long[] arrays.
+     *
+     * Time Complexity: O(P(10, L/2) * (2^(10 - L/2) + log)) for L letters, instead of P(10, L)
+     *
+     * @param equation A linear equation (no word-by-word products).
+     * @return Number of distinct digit assignments that satisfy the equation.
+     */
+    public static long countSolutions(CryptarithmEquation equation) {
+        if (!equation.isLinear()) {
+            throw new IllegalArgumentException("Counting mode needs a linear equation (no word products)");
+        }
+
+        // Flatten the letters into primitive arrays
+        List<Character> letters = equation.getLetters();
+        long[] allWeights = equation.getWeights();
+        int count = letters.size();
+        long[] weights = new long[count];
+        int[] minDigit = new int[count];  // 1 for leading letters, 0 otherwise
+        for (int i = 0; i < count; i++) {
+            char c = letters.get(i);
+            weights[i] = allWeights[c - 'A'];
+            minDigit[i] = equation.isLeading(c) ? 1 : 0;
+        }
+
+        int firstHalf = count / 2;
+
+        // Step 1: Enumerate the first half into per-mask buckets of weighted sums
+        long[][] buckets = new long[ALL_DIGITS + 1][];
+        int[] sizes = new int[ALL_DIGITS + 1];
+        int bucketCapacity = factorial(firstHalf);
+        enumerate(weights, minDigit, 0, firstHalf, 0, 0L, (mask, sum) -> {
+            if (buckets[mask] == null) buckets[mask] = new long[bucketCapacity];
+            buckets[mask][sizes[mask]++] = sum;
+        });
+        for (int mask = 0; mask <= ALL_DIGITS; mask++) {
+            if (buckets[mask] != null) Arrays.sort(buckets[mask], 0, sizes[mask]);
+        }
+
+        // Step 2: Enumerate the second half and look up complementary first-half sums
+        long constant = equation.getConstant();
+        long[] total = new long[1];
+        enumerate(weights, minDigit, firstHalf, count, 0, 0L, (maskB, sumB) -> {
+            long target = -(constant + sumB);
+            int free = ~maskB & ALL_DIGITS;
+            // Walk every submask of the free digits (including the empty one)
+            for (int mask = free; ; mask = (mask - 1) & free) {
+                if (buckets[mask] != null) total[0] += countEqual(buckets[mask], sizes[mask], target);
+                if (mask == 0) break;
+            }
+        });
+        return total[0];
+    }
+
+    /**
+     * Callback receiving one complete half assignment.
+     */
+    private interface HalfVisitor {
+        void visit(int mask, long sum);
+    }
+
+    /**
+     * Enumerates injective assignments of letters [index, end) given the digits already in mask.
+     */
+    private static void enumerate(long[] weights, int[] minDigit, int index, int end,
+                                  int mask, long sum, HalfVisitor visitor) {
+        if (index == end) {
+            visitor.visit(mask, sum);
+            return;
+        }
+        for (int digit = minDigit[index]; digit <= 9; digit++) {
+            if ((mask & (1 << digit)) != 0) continue;  // Digit already used
+            enumerate(weights, minDigit, index + 1, end, mask | (1 << digit), sum + weights[index] * digit, visitor);
+        }
+    }
+
+    /**
+     * @return Number of occurrences of target in the sorted prefix sorted[0, size).
+     */
+    private static int countEqual(long[] sorted, int size, long target) {
+        return lowerBound(sorted, size, target + 1) - lowerBound(sorted, size, target);
+    }
+
+    private static int lowerBound(long[] sorted, int size, long value) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int factorial(int n) {
+        int f = 1;
+        for (int i = 2; i <= n; i++) f *= i;
+        return f;
+    }
+
+    public static void main(String[] args) {
+        String[] puzzles = {"SEND + MORE = MONEY", "FORTY + TEN + TEN = SIXTY", "2 * AB = CD", "A + B = C", "1 = 1", "1 = 2"};
+        for (String puzzle : puzzles) {
+            System.out.println(puzzle + ": " + countSolutions(new CryptarithmEquation(puzzle)) + " solution(s)");
+        }
+        // Output: 1, 1, 23, 32, 1, 0
+    }
+}
@@ -0,0 +1,353 @@
+package dsa;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class CryptarithmEquation {
+
+    private final String equation;
+
+    // List to hold all unique letters that appear in the equation
+    private final List<Character> letters = new ArrayList<>();
+
+    // Linear form: the equation holds when constant + sum(weights[letter] * digit) + sum(products) == 0
+    private final long[] weights = new long[26];
+    private long constant;
+
+    // Terms multiplying two or more words, which cannot be folded into the linear weights
+    private final List<Product> products = new ArrayList<>();
+
+    // Letters that start a word and therefore cannot be zero
+    private final boolean[] leading = new boolean[26];
+
+    // Search order: letters by decreasing |weight| so the bounds tighten as early as possible
+    private final int[] order;
+
+    // suffixMin[i] / suffixMax[i] = smallest / largest linear contribution of order[i..] ignoring distinctness
+    private final long[] suffixMin;
+    private final long[] suffixMax;
+
+    /**
+     * A term coefficient * word1 * word2 * ... with at least two words.
+     */
+    private static class Product {
+        final long coefficient;
+        final String[] words;
+
+        Product(long coefficient, String[] words) {
+            this.coefficient = coefficient;
+            this.words = words;
+        }
+    }
+
+    /**
+     * Parses an equation built from words (A-Z), integer constants, '+', '-', '*' and one '=',
+     * e.g. "SEND + MORE = MONEY", "FORTY + TEN + TEN = SIXTY", "ABC - CB = A" or "2 * AB + 1 = CD".
+     * Every term of the form constant * word is folded into one coefficient per letter, so checking
+     * a full assignment is O(letters). Products of two or more words are kept as separate terms.
+     *
+     * @param equation The equation to parse.
+     */
+    public CryptarithmEquation(String equation) {
+        this.equation = equation;
+        String[] sides = equation.replace(" ", "").split("=", -1);
+        if (sides.length != 2) {
+            throw new IllegalArgumentException("Equation must contain exactly one '=': " + equation);
+        }
+
+        // Move everything to the left-hand side: left - right = 0
+        parseSide(sides[0], 1);
+        parseSide(sides[1], -1);
+
+        Set<Character> unique = new LinkedHashSet<>();
+        for (char c : equation.toCharArray()) {
+            if (c >= 'A' && c <= 'Z') unique.add(c);
+        }
+        letters.addAll(unique);
+        if (letters.size() > 10) {
+            throw new IllegalArgumentException("More than 10 distinct letters: " + equation);
+        }
+
+        // Order letters by decreasing |weight|; product-only letters (weight 0) come last
+        Integer[] byWeight = new Integer[letters.size()];
+        for (int i = 0; i < byWeight.length; i++) byWeight[i] = letters.get(i) - 'A';
+        Arrays.sort(byWeight, (a, b) -> Long.compare(Math.abs(weights[b]), Math.abs(weights[a])));
+        order = new int[byWeight.length];
+        for (int i = 0; i < order.length; i++) order[i] = byWeight[i];
+
+        // Bounds of the remaining linear contribution, from the last letter backwards
+        suffixMin = new long[order.length + 1];
+        suffixMax = new long[order.length + 1];
+        for (int i = order.length - 1; i >= 0; i--) {
+            long w = weights[order[i]];
+            long low = w * (leading[order[i]] ? 1 : 0), high = w * 9;
+            suffixMin[i] = suffixMin[i + 1] + Math.min(low, high);
+            suffixMax[i] = suffixMax[i + 1] + Math.max(low, high);
+        }
+    }
+
+    /**
+     * Parses one side of the equation as a sum of signed terms and adds it with the given sign.
+     */
+    private void parseSide(String side, int sign) {
+        if (side.isEmpty()) throw new IllegalArgumentException("Empty side in: " + equation);
+
+        int start = 0;
+        int termSign = sign;
+        for (int i = 0; i <= side.length(); i++) {
+            if (i == side.length() || side.charAt(i) == '+' || side.charAt(i) == '-') {
+                if (i == start) throw new IllegalArgumentException("Missing term in: " + equation);
+                parseTerm(side.substring(start, i), termSign);
+                if (i < side.length()) termSign = side.charAt(i) == '+' ? sign : -sign;
+                start = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Parses a product of factors (words or integer constants) and records it as linear weights
+     * or as a product term.
+     */
+    private void parseTerm(String term, int sign) {
+        long coefficient = sign;
+        List<String> words = new ArrayList<>();
+        int totalLength = 0;
+
+        for (String factor : term.split("\\*", -1)) {
+            if (factor.matches("[0-9]+")) {
+                coefficient = Math.multiplyExact(coefficient, Long.parseLong(factor));
+            } else if (factor.matches("[A-Z]+")) {
+                words.add(factor);
+                leading[factor.charAt(0) - 'A'] = true;
+                totalLength += factor.length();
+            } else {
+                throw new IllegalArgumentException("Invalid factor '" + factor + "' in: " + equation);
+            }
+        }
+        if (totalLength + Long.toString(Math.abs(coefficient)).length() > 18) {
+            throw new IllegalArgumentException("Term too large for 64-bit arithmetic: " + term);
+        }
+
+        if (words.isEmpty()) {
+            constant += coefficient;  // Constant term, e.g. "AB + 1 = AC"
+        } else if (words.size() == 1) {
+            // Linear term: every letter gets coefficient * 10^position
+            String w = words.get(0);
+            long place = coefficient;
+            for (int i = w.length() - 1; i >= 0; i--, place *= 10) {
+                weights[w.charAt(i) - 'A'] += place;
+            }
+        } else {
+            products.add(new Product(coefficient, words.toArray(new String[0])));
+        }
+    }
+
+    /**
+     * @return Coefficient of each letter in the linear form, indexed by letter - 'A'.
+     */
+    public long[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * @return Distinct letters in order of first appearance.
+     */
+    public List<Character> getLetters() {
+        return Collections.unmodifiableList(letters);
+    }
+
+    /**
+     * @return Constant term of the linear form (the sum of all integer-only terms, moved to the left).
+     */
+    public long getConstant() {
+        return constant;
+    }
+
+    /**
+     * @return True if the letter starts a word and therefore cannot be zero.
+     */
+    public boolean isLeading(char letter) {
+        return leading[letter - 'A'];
+    }
+
+    /**
+     * @return True if the equation has no word-by-word products, so it is fully linear.
+     */
+    public boolean isLinear() {
+        return products.isEmpty();
+    }
+
+    /**
+     * Lazily enumerates every solution. Each element maps letter - 'A' to its digit (-1 for unused
+     * letters) and is a fresh array owned by the caller.
+     *
+     * @return Iterator producing the solutions one at a time.
+     */
+    public Iterator<int[]> iterator() {
+        return new SolutionIterator();
+    }
+
+    /**
+     * @return Sequential, lazily evaluated stream of every solution.
+     */
+    public Stream<int[]> solutions() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Checks a full assignment in O(letters) using the linear form, plus any product terms.
+     */
+    public boolean isValid(int[] charToDigit) {
+        long total = constant;
+        for (char c : letters) {
+            int d = charToDigit[c - 'A'];
+            if (d == -1) return false;  // incomplete assignment
+            total += weights[c - 'A'] * d;
+        }
+        for (Product product : products) {
+            long value = product.coefficient;
+            for (String w : product.words) value *= CryptarithmSolver.wordToNumber(w, charToDigit);
+            total += value;
+        }
+        return total == 0;
+    }
+
+    /**
+     * Interval [min, max] of all product terms under the current partial assignment.
+     * Unassigned digits range over 0..9 (1..9 for leading letters).
+     */
+    private long[] productBounds(int[] charToDigit) {
+        long min = 0, max = 0;
+        for (Product product : products) {
+            long low = product.coefficient, high = product.coefficient;
+            if (low > high) { long t = low; low = high; high = t; }
+            for (String w : product.words) {
+                long wordLow = 0, wordHigh = 0;
+                for (int i = 0; i < w.length(); i++) {
+                    int d = charToDigit[w.charAt(i) - 'A'];
+                    wordLow = wordLow * 10 + (d != -1 ? d : (i == 0 ? 1 : 0));
+                    wordHigh = wordHigh * 10 + (d != -1 ? d : 9);
+                }
+                // Interval multiplication; word values are non-negative
+                long[] candidates = {low * wordLow, low * wordHigh, high * wordLow, high * wordHigh};
+                low = Math.min(Math.min(candidates[0], candidates[1]), Math.min(candidates[2], candidates[3]));
+                high = Math.max(Math.max(candidates[0], candidates[1]), Math.max(candidates[2], candidates[3]));
+            }
+            min += low;
+            max += high;
+        }
+        return new long[] {min, max};
+    }
+
+    /**
+     * Depth-first search with an explicit stack, so solutions can be handed out one at a time.
+     * Level i assigns order[i]; partial[i] is the linear sum of the letters assigned before level i.
+     */
+    private class SolutionIterator implements Iterator<int[]> {
+        private final int[] charToDigit = new int[26];
+        private final boolean[] usedDigits = new boolean[10];
+        private final int[] digitAt = new int[order.length];       // Digit tried at each level, -1 if none
+        private final long[] partial = new long[order.length + 1];  // partial[0] is the constant term
+        private int level = 0;
+        private int[] next;          // Solution found but not yet returned
+        private boolean done;
+
+        SolutionIterator() {
+            Arrays.fill(charToDigit, -1);
+            Arrays.fill(digitAt, -1);
+            partial[0] = constant;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) next = advance();
+            return next != null;
+        }
+
+        @Override
+        public int[] next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int[] solution = next;
+            next = null;
+            return solution;
+        }
+
+        /**
+         * Resumes the search and returns the next solution, or null when the tree is exhausted.
+         */
+        private int[] advance() {
+            if (order.length == 0) {
+                // No letters: the empty assignment is the one solution if the constants balance
+                done = true;
+                return isValid(charToDigit) ? charToDigit.clone() : null;
+            }
+            while (level >= 0) {
+                int letter = order[level];
+
+                // Release the digit tried last at this level, then pick the next free one
+                int d = digitAt[level];
+                if (d != -1) usedDigits[d] = false;
+                d++;
+                if (d == 0 && leading[letter]) d = 1;
+                while (d <= 9 && usedDigits[d]) d++;
+
+                if (d > 9) {
+                    // This level is exhausted: undo it and go back to the previous letter
+                    digitAt[level] = -1;
+                    charToDigit[letter] = -1;
+                    level--;
+                    continue;
+                }
+
+                digitAt[level] = d;
+                usedDigits[d] = true;
+                charToDigit[letter] = d;
+                long sum = partial[level] + weights[letter] * d;
+
+                // Bound-based pruning: the remaining letters must be able to bring the total to 0
+                long low = sum + suffixMin[level + 1], high = sum + suffixMax[level + 1];
+                if (!products.isEmpty()) {
+                    long[] bounds = productBounds(charToDigit);
+                    low += bounds[0];
+                    high += bounds[1];
+                }
+                if (low > 0 || high < 0) continue;
+
+                if (level + 1 == order.length) {
+                    // Full assignment inside the bounds; products make the final check necessary
+                    if (isValid(charToDigit)) return charToDigit.clone();
+                    continue;
+                }
+
+                partial[level + 1] = sum;
+                level++;
+            }
+            done = true;
+            return null;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Three addends, all solutions streamed lazily
+        CryptarithmEquation forty = new CryptarithmEquation("FORTY + TEN + TEN = SIXTY");
+        System.out.println("FORTY + TEN + TEN = SIXTY: " + forty.solutions().count() + " solution(s)"); // 1
+
+        // Subtraction
+        CryptarithmEquation money = new CryptarithmEquation("MONEY - MORE = SEND");
+        System.out.println("MONEY - MORE = SEND: " + money.solutions().count() + " solution(s)");       // 1
+
+        // Constant multiplier and word-by-word multiplication
+        CryptarithmEquation twice = new CryptarithmEquation("2 * AB = CD");
+        System.out.println("2 * AB = CD: " + twice.solutions().count() + " solution(s)");
+        CryptarithmEquation product = new CryptarithmEquation("AB * C = DEF");
+        Iterator<int[]> it = product.iterator();
+        int[] first = it.next();
+        System.out.println("AB * C = DEF, first solution: " + CryptarithmSolver.wordToNumber("AB", first)
+                + " * " + first['C' - 'A'] + " = " + CryptarithmSolver.wordToNumber("DEF", first));
+
+        // No letters: a true constant equation has exactly the empty solution
+        System.out.println("1 = 1: " + new CryptarithmEquation("1 = 1").solutions().count() + " solution(s)"); // 1
+        System.out.println("1 = 2: " + new CryptarithmEquation("1 = 2").solutions().count() + " solution(s)"); // 0
+    }
+}
@@ -1,126 +1,319 @@
 package dsa;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class CryptarithmSolver {
 
-    // The three words involved in the cryptarithm equation: word1 + word2 = result
-    static String word1, word2, result;
+    // Default number of letters assigned before the parallel search forks one task per prefix
+    public static final int DEFAULT_SPLIT_LETTERS = 2;
+
+    // The words involved in the cryptarithm equation: addend1 + addend2 + ... = result
+    private final String[] addends;
+    private final String result;
 
     // List to hold all unique letters that appear in the equation
-    static List<Character> letters = new ArrayList<>();
+    private final List<Character> letters = new ArrayList<>();
 
-    // Mapping from letters (A-Z) to assigned digits (0-9); -1 means unassigned
-    static int[] charToDigit = new int[26];
+    // Column-wise search data, least-significant column first:
+    // columnAddends[col] = distinct addend letters (as 0-25) in that column
+    // columnCoefficients[col][i] = how many addends have columnAddends[col][i] in that column
+    // columnResult[col] = result letter in that column
+    private final int[][] columnAddends;
+    private final int[][] columnCoefficients;
+    private final int[] columnResult;
 
-    // Boolean array to mark which digits have already been assigned
-    static boolean[] usedDigits = new boolean[10];
+    // Letters that start a word and therefore cannot be zero
+    private final boolean[] leading = new boolean[26];
 
-    public static void main(String[] args) {
-        // Example 1: STAR + MOON = NIGHT
-        word1 = "STAR";
-        word2 = "MOON";
-        result = "NIGHT";
+    // Positional weight of each letter: sum of 10^position over addends minus the same over the result,
+    // so an assignment is valid exactly when sum(weight[letter] * digit) == 0
+    private final long[] weights = new long[26];
 
-        System.out.println("Trying to solve: " + word1 + " + " + word2 + " = " + result);
-        if (!prepareAndSolve()) {
-            System.out.println("No solution found.");
+    /**
+     * Parses an equation such as "SEND + MORE = MONEY" and precomputes the column layout.
+     * All puzzle data is immutable afterwards, so one solver can be shared across threads and
+     * every solve call keeps its search state to itself.
+     *
+     * @param equation Addends separated by '+', then '=', then the result; letters A-Z only.
+     */
+    public CryptarithmSolver(String equation) {
+        String[] sides = equation.split("=");
+        if (sides.length != 2) {
+            throw new IllegalArgumentException("Equation must contain exactly one '=': " + equation);
+        }
+        String[] terms = sides[0].split("\\+");
+        addends = new String[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            addends[i] = parseWord(terms[i], equation);
         }
+        result = parseWord(sides[1], equation);
 
-        System.out.println("\n-------------------\n");
+        // Collect unique letters from all words while preserving order (LinkedHashSet)
+        Set<Character> unique = new LinkedHashSet<>();
+        for (String w : addends) {
+            for (char c : w.toCharArray()) unique.add(c);
+        }
+        for (char c : result.toCharArray()) unique.add(c);
+        letters.addAll(unique);
+
+        for (String w : addends) {
+            leading[w.charAt(0) - 'A'] = true;
+        }
+        leading[result.charAt(0) - 'A'] = true;
 
-        // Example 2: CODE + BUG = DEBUG
-        word1 = "CODE";
-        word2 = "BUG";
-        result = "DEBUG";
+        // Precompute the per-column letter layout and the positional weights
+        int columns = result.length();
+        columnAddends = new int[columns][];
+        columnCoefficients = new int[columns][];
+        columnResult = new int[columns];
 
-        System.out.println("Trying to solve: " + word1 + " + " + word2 + " = " + result);
-        if (!prepareAndSolve()) {
-            System.out.println("No solution found.");
+        for (int col = 0; col < columns; col++) {
+            int[] count = new int[26];
+            for (String w : addends) {
+                if (col < w.length()) count[w.charAt(w.length() - 1 - col) - 'A']++;
+            }
+            int distinct = 0;
+            for (int c : count) if (c > 0) distinct++;
+
+            columnAddends[col] = new int[distinct];
+            columnCoefficients[col] = new int[distinct];
+            for (int letter = 0, i = 0; letter < 26; letter++) {
+                if (count[letter] > 0) {
+                    columnAddends[col][i] = letter;
+                    columnCoefficients[col][i++] = count[letter];
+                }
+            }
+            columnResult[col] = result.charAt(result.length() - 1 - col) - 'A';
+        }
+
+        long place = 1;
+        for (int col = 0; col < columns; col++, place *= 10) {
+            for (int i = 0; i < columnAddends[col].length; i++) {
+                weights[columnAddends[col][i]] += columnCoefficients[col][i] * place;
+            }
+            weights[columnResult[col]] -= place;
         }
     }
 
     /**
-     * Prepare the data structures and start backtracking to find a valid digit assignment.
-     * @return true if a valid solution is found, false otherwise.
+     * Trims and validates one word of the equation.
      */
-    static boolean prepareAndSolve() {
-        letters.clear();                  // Clear previous letters list
-        Arrays.fill(charToDigit, -1);    // Reset all letter-to-digit assignments
-        Arrays.fill(usedDigits, false);  // Reset digit usage tracker
-
-        // Collect unique letters from all words while preserving order (LinkedHashSet)
-        Set<Character> unique = new LinkedHashSet<>();
-        for (char c : (word1 + word2 + result).toCharArray()) {
-            unique.add(c);
+    private static String parseWord(String term, String equation) {
+        String w = term.trim();
+        if (w.isEmpty() || !w.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+            throw new IllegalArgumentException("Words must be non-empty and use letters A-Z: " + equation);
         }
-        letters.addAll(unique);
+        return w;
+    }
+
+    /**
+     * Searches for a valid digit assignment on the current thread.
+     * @return digits indexed by letter - 'A' (-1 for unused letters), or null if there is no solution.
+     */
+    public int[] solve() {
+        if (!feasible()) return null;
+        AtomicReference<int[]> found = new AtomicReference<>();
+        new Search(found, Integer.MAX_VALUE, null).backtrack(0, 0, 0);
+        return found.get();
+    }
+
+    /**
+     * Parallel search on the common fork-join pool with the default split.
+     * @return digits indexed by letter - 'A' (-1 for unused letters), or null if there is no solution.
+     */
+    public int[] solveParallel() {
+        return solveParallel(ForkJoinPool.commonPool(), DEFAULT_SPLIT_LETTERS);
+    }
 
+    /**
+     * Parallel search: every digit choice for the first splitLetters letters becomes its own
+     * fork-join task. The first task to find a solution publishes it, and every other task checks
+     * that shared result at each search node and stops. With several solutions, which one is
+     * returned depends on scheduling.
+     *
+     * @param pool Fork-join pool that runs the search.
+     * @param splitLetters Number of letters assigned before forking (about 10^splitLetters tasks).
+     * @return digits indexed by letter - 'A' (-1 for unused letters), or null if there is no solution.
+     */
+    public int[] solveParallel(ForkJoinPool pool, int splitLetters) {
+        if (!feasible()) return null;
+        AtomicReference<int[]> found = new AtomicReference<>();
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                // Enumerate the prefixes on this thread, then run one task per prefix
+                List<SearchTask> forks = new ArrayList<>();
+                new Search(found, splitLetters, forks).backtrack(0, 0, 0);
+                invokeAll(forks);
+            }
+        });
+        return found.get();
+    }
+
+    /**
+     * Quick checks that rule a puzzle out before any search.
+     */
+    private boolean feasible() {
         // If more than 10 unique letters, impossible to assign distinct digits
         if (letters.size() > 10) return false;
 
-        // Start backtracking from the first letter index (0)
-        return backtrack(0);
+        // An addend longer than the result would need a leading zero in the result
+        for (String w : addends) {
+            if (w.length() > result.length()) return false;
+        }
+        return true;
     }
 
     /**
-     * Recursive backtracking method to assign digits to letters.
-     * @param idx current letter index to assign digit for
-     * @return true if a solution is found downstream, false if none
+     * Search state owned by one thread: the current assignment and the digits in use.
      */
-    static boolean backtrack(int idx) {
-        // Base case: all letters assigned digits
-        if (idx == letters.size()) {
-            // Check if the current assignment satisfies the cryptarithm equation
-            if (isValid()) {
-                printSolution();  // Print the solution found
-                return true;      // Signal success
-            }
-            return false;         // Assignment invalid, backtrack
+    private class Search {
+        // Mapping from letters (A-Z) to assigned digits (0-9); -1 means unassigned
+        final int[] charToDigit;
+
+        // Boolean array to mark which digits have already been assigned
+        final boolean[] usedDigits;
+
+        final AtomicReference<int[]> found;  // Shared first solution; non-null means "stop"
+        final int splitDepth;                // Assigned letters at which the search forks instead of recursing
+        final List<SearchTask> forks;        // Collected forks, or null for a plain search
+        int assigned;                        // Number of letters currently assigned
+
+        Search(AtomicReference<int[]> found, int splitDepth, List<SearchTask> forks) {
+            this.charToDigit = new int[26];
+            this.usedDigits = new boolean[10];
+            this.found = found;
+            this.splitDepth = splitDepth;
+            this.forks = forks;
+            Arrays.fill(charToDigit, -1);
         }
 
-        // Try assigning digits 0 through 9 to the current letter
-        for (int digit = 0; digit <= 9; digit++) {
-            if (!usedDigits[digit]) {  // Skip if digit already used
-                // Assign digit to letter at idx
-                charToDigit[letters.get(idx) - 'A'] = digit;
-                usedDigits[digit] = true;
+        Search(Search prefix) {
+            this.charToDigit = prefix.charToDigit.clone();
+            this.usedDigits = prefix.usedDigits.clone();
+            this.found = prefix.found;
+            this.splitDepth = Integer.MAX_VALUE;
+            this.forks = null;
+            this.assigned = prefix.assigned;
+        }
+
+        /**
+         * Column-wise backtracking from the least-significant digit with carry propagation.
+         * Unassigned addend letters of the current column are tried first; the result letter of the
+         * column is then forced to (carry + column sum) % 10, so an inconsistent column is pruned
+         * immediately instead of after every letter has a digit.
+         *
+         * @param col current column, counted from the right
+         * @param idx index of the next addend letter to assign in this column
+         * @param carry carry into this column from the column to its right
+         * @return true if the search should stop (a solution was found here or by another task)
+         */
+        boolean backtrack(int col, int idx, int carry) {
+            // Cooperative cancellation: another task already found a solution
+            if (found.get() != null) return true;
+
+            // Base case: every column is consistent; the final carry must be absorbed
+            if (col == columnResult.length) {
+                if (carry == 0 && isValid(charToDigit)) {
+                    found.compareAndSet(null, charToDigit.clone());
+                    return true;
+                }
+                return false;
+            }
+
+            int[] addendLetters = columnAddends[col];
+
+            // Step 1: Assign the remaining addend letters of this column
+            if (idx < addendLetters.length) {
+                int letter = addendLetters[idx];
+                if (charToDigit[letter] != -1) {
+                    return backtrack(col, idx + 1, carry);  // Already fixed by an earlier column
+                }
 
-                // Early pruning: check that no leading letter is assigned zero
-                if (leadingZeroCheck(idx)) {
-                    // Recurse to assign next letter
-                    if (backtrack(idx + 1)) {
-                        return true; // Stop as soon as one valid solution is found
+                for (int digit = leading[letter] ? 1 : 0; digit <= 9; digit++) {
+                    if (usedDigits[digit]) continue;  // Skip if digit already used
+                    assign(letter, digit);
+
+                    if (assigned >= splitDepth) {
+                        // Deep enough: hand this prefix to its own task instead of recursing
+                        forks.add(new SearchTask(new Search(this), col, idx + 1, carry));
+                    } else if (backtrack(col, idx + 1, carry)) {
+                        return true;  // Stop as soon as one valid solution is found
                     }
+
+                    unassign(letter, digit);  // Backtrack: undo assignment
                 }
+                return false;
+            }
+
+            // Step 2: All addends of this column are known; the result digit follows from the column sum
+            int sum = carry;
+            for (int i = 0; i < addendLetters.length; i++) {
+                sum += columnCoefficients[col][i] * charToDigit[addendLetters[i]];
+            }
+            int digit = sum % 10;
+            int nextCarry = sum / 10;
+            int resultLetter = columnResult[col];
 
-                // Backtrack: undo assignment
-                usedDigits[digit] = false;
-                charToDigit[letters.get(idx) - 'A'] = -1;
+            if (charToDigit[resultLetter] != -1) {
+                // Result letter already fixed: the column is consistent only if it matches
+                return charToDigit[resultLetter] == digit && backtrack(col + 1, 0, nextCarry);
             }
+            if (usedDigits[digit] || (digit == 0 && leading[resultLetter])) {
+                return false;  // Column cannot be satisfied with the current assignment
+            }
+
+            assign(resultLetter, digit);
+            if (backtrack(col + 1, 0, nextCarry)) {
+                return true;
+            }
+            unassign(resultLetter, digit);
+            return false;
+        }
+
+        void assign(int letter, int digit) {
+            charToDigit[letter] = digit;
+            usedDigits[digit] = true;
+            assigned++;
         }
 
-        return false;  // No valid digit assignment for this letter
+        void unassign(int letter, int digit) {
+            usedDigits[digit] = false;
+            charToDigit[letter] = -1;
+            assigned--;
+        }
     }
 
     /**
-     * Ensure that the first letter of each word is not assigned zero (leading zero invalid).
-     * @param currentIndex the index of the letter recently assigned
-     * @return false if any leading letter has digit 0, true otherwise
+     * Fork-join task continuing the search from one assignment prefix.
      */
-    static boolean leadingZeroCheck(int currentIndex) {
-        // Check leading letters of word1, word2, and result
-        if (charToDigit[word1.charAt(0) - 'A'] == 0) return false;
-        if (charToDigit[word2.charAt(0) - 'A'] == 0) return false;
-        if (charToDigit[result.charAt(0) - 'A'] == 0) return false;
-        return true;
+    @SuppressWarnings("serial")
+    private static class SearchTask extends RecursiveAction {
+        private final Search search;
+        private final int col, idx, carry;
+
+        SearchTask(Search search, int col, int idx, int carry) {
+            this.search = search;
+            this.col = col;
+            this.idx = idx;
+            this.carry = carry;
+        }
+
+        @Override
+        protected void compute() {
+            search.backtrack(col, idx, carry);
+        }
     }
 
     /**
-     * Convert a word to its numerical value based on current digit assignments.
+     * Convert a word to its numerical value based on the given digit assignment.
      * @param w word to convert
+     * @param charToDigit digits indexed by letter - 'A'
      * @return numeric value, or -1 if any letter unassigned
      */
-    static long wordToNumber(String w) {
+    public static long wordToNumber(String w, int[] charToDigit) {
         long val = 0;
         for (char c : w.toCharArray()) {
             int d = charToDigit[c - 'A'];
@@ -131,32 +324,69 @@ public class CryptarithmSolver {
     }
 
     /**
-     * Check if the current digit assignment satisfies the equation word1 + word2 = result.
+     * Check if a digit assignment satisfies the equation, using the precomputed positional weights
+     * (one weighted sum over the letters).
+     * @param charToDigit digits indexed by letter - 'A'
      * @return true if equation holds, false otherwise
      */
-    static boolean isValid() {
-        long num1 = wordToNumber(word1);
-        long num2 = wordToNumber(word2);
-        long res = wordToNumber(result);
-
-        // If any incomplete assignment, invalid
-        if (num1 == -1 || num2 == -1 || res == -1) return false;
-
-        // Check sum equality
-        return (num1 + num2) == res;
+    public boolean isValid(int[] charToDigit) {
+        long total = 0;
+        for (char c : letters) {
+            int d = charToDigit[c - 'A'];
+            if (d == -1) return false;  // incomplete assignment
+            total += weights[c - 'A'] * d;
+        }
+        return total == 0;
     }
 
     /**
      * Print the solution mapping letters to digits and the numeric values of words.
+     * @param charToDigit digits indexed by letter - 'A'
      */
-    static void printSolution() {
+    public void printSolution(int[] charToDigit) {
         System.out.println("Solution found:");
         for (char c : letters) {
             System.out.printf("%c = %d\n", c, charToDigit[c - 'A']);
         }
-        System.out.printf("%s = %d\n", word1, wordToNumber(word1));
-        System.out.printf("%s = %d\n", word2, wordToNumber(word2));
-        System.out.printf("%s = %d\n", result, wordToNumber(result));
-        System.out.printf("Sum: %d + %d = %d\n", wordToNumber(word1), wordToNumber(word2), wordToNumber(result));
+        StringJoiner sum = new StringJoiner(" + ", "Sum: ", "");
+        for (String w : addends) {
+            System.out.printf("%s = %d\n", w, wordToNumber(w, charToDigit));
+            sum.add(String.valueOf(wordToNumber(w, charToDigit)));
+        }
+        System.out.printf("%s = %d\n", result, wordToNumber(result, charToDigit));
+        System.out.println(sum + " = " + wordToNumber(result, charToDigit));
+    }
+
+    public static void main(String[] args) {
+        String[] puzzles = {
+            "STAR + MOON = NIGHT",   // Example 1
+            "CODE + BUG = DEBUG",    // Example 2
+            "SEND + MORE = MONEY"    // Classic puzzle, solved in parallel below
+        };
+
+        for (String equation : puzzles) {
+            CryptarithmSolver solver = new CryptarithmSolver(equation);
+            System.out.println("Trying to solve: " + equation);
+            int[] solution = solver.solve();
+            if (solution == null) {
+                System.out.println("No solution found.");
+            } else {
+                solver.printSolution(solution);
+            }
+            System.out.println("\n-------------------\n");
+        }
+
+        // Two puzzles solved at the same time, each using the fork-join pool
+        CryptarithmSolver first = new CryptarithmSolver("SEND + MORE = MONEY");
+        CryptarithmSolver second = new CryptarithmSolver("STAR + MOON = NIGHT");
+        Thread other = new Thread(() -> System.out.println("Parallel STAR + MOON = NIGHT valid: "
+                + second.isValid(second.solveParallel())));
+        other.start();
+        System.out.println("Parallel SEND + MORE = MONEY valid: " + first.isValid(first.solveParallel()));
+        try {
+            other.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
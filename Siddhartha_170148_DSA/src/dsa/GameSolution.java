@@ -0,0 +1,174 @@
+package dsa;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Solved TreasureHuntGame board: outcome, distance and best move for every (mouse, cat, turn).
+ *
+ * The three tables are indexed by TreasureHuntGame.state and live in buffers, either wrapping the
+ * solver's arrays or mapped straight from a file written by save, so a large solved board loads
+ * without reading or copying it.
+ */
+public final class GameSolution {
+
+    private static final int MAGIC = 0x54484753;  // "THGS"
+    private static final int HEADER_BYTES = 8;    // MAGIC, then the number of nodes
+
+    private final int n;
+    private final ByteBuffer results;   // DRAW, MOUSE_WIN or CAT_WIN per state
+    private final ShortBuffer moves;    // Node to move to, -1 if the game is over or no move exists
+    private final IntBuffer distances;  // Moves until the game ends with best play, -1 for a draw
+
+    GameSolution(int n, byte[] results, short[] moves, int[] distances) {
+        this(n, ByteBuffer.wrap(results), ShortBuffer.wrap(moves), IntBuffer.wrap(distances));
+    }
+
+    private GameSolution(int n, ByteBuffer results, ShortBuffer moves, IntBuffer distances) {
+        this.n = n;
+        this.results = results;
+        this.moves = moves;
+        this.distances = distances;
+    }
+
+    /**
+     * @return Number of nodes on the board.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Time Complexity: O(1)
+     *
+     * @return Outcome with best play from this state: MOUSE_WIN, CAT_WIN or DRAW.
+     */
+    public int outcome(int mouse, int cat, int turn) {
+        return results.get(index(mouse, cat, turn));
+    }
+
+    /**
+     * The winner takes the fastest win, the loser the longest defence, and a drawn player stays on
+     * a drawn state.
+     *
+     * Time Complexity: O(1)
+     *
+     * @return Node the player to move should go to, or -1 if the game is over or there is no move.
+     */
+    public int bestMove(int mouse, int cat, int turn) {
+        return moves.get(index(mouse, cat, turn));
+    }
+
+    /**
+     * Time Complexity: O(1)
+     *
+     * @return Moves (by both players) until the game ends with best play, 0 if it is already over,
+     *         -1 for a draw.
+     */
+    public int distance(int mouse, int cat, int turn) {
+        return distances.get(index(mouse, cat, turn));
+    }
+
+    /**
+     * Writes the solution to a file that load can memory-map.
+     * Layout: MAGIC, n, then the outcome bytes, move shorts and distance ints in state order.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        long states = results.capacity();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.putInt(MAGIC).putInt(n);
+
+            // One mapping per table, each limited to 2 GB
+            long offset = HEADER_BYTES;
+            map(channel, FileChannel.MapMode.READ_WRITE, offset, states).put(results.duplicate().clear());
+            offset += states;
+            map(channel, FileChannel.MapMode.READ_WRITE, offset, states * 2).asShortBuffer()
+                    .put(moves.duplicate().clear());
+            offset += states * 2;
+            map(channel, FileChannel.MapMode.READ_WRITE, offset, states * 4).asIntBuffer()
+                    .put(distances.duplicate().clear());
+        }
+    }
+
+    /**
+     * Memory-maps a file written by save; queries then read the file through the page cache.
+     *
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a saved solution.
+     */
+    public static GameSolution load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IllegalArgumentException("Not a saved game solution: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            int n = header.getInt(4);
+            long states = 2L * n * n;
+            if (header.getInt(0) != MAGIC || n < 0 || channel.size() != HEADER_BYTES + states * 7) {
+                throw new IllegalArgumentException("Not a saved game solution: " + file);
+            }
+
+            // The mappings stay valid after the channel is closed
+            long offset = HEADER_BYTES;
+            ByteBuffer results = map(channel, FileChannel.MapMode.READ_ONLY, offset, states);
+            offset += states;
+            ShortBuffer moves = map(channel, FileChannel.MapMode.READ_ONLY, offset, states * 2).asShortBuffer();
+            offset += states * 2;
+            IntBuffer distances = map(channel, FileChannel.MapMode.READ_ONLY, offset, states * 4).asIntBuffer();
+            return new GameSolution(n, results, moves, distances);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long offset, long bytes)
+            throws IOException {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Solution table larger than 2 GB: " + bytes + " bytes");
+        }
+        return channel.map(mode, offset, bytes);
+    }
+
+    private int index(int mouse, int cat, int turn) {
+        if (mouse < 0 || mouse >= n || cat < 0 || cat >= n) {
+            throw new IllegalArgumentException("Position out of range: mouse " + mouse + ", cat " + cat);
+        }
+        if (turn != TreasureHuntGame.MOUSE_TURN && turn != TreasureHuntGame.CAT_TURN) {
+            throw new IllegalArgumentException("Unknown turn: " + turn);
+        }
+        return TreasureHuntGame.state(n, mouse, cat, turn);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[][] graph = {
+            {2, 5},      // 0
+            {3},         // 1
+            {0, 4, 5},   // 2
+            {1, 4, 5},   // 3
+            {2, 3},      // 4
+            {0, 2, 3}    // 5
+        };
+        GameSolution solution = new TreasureHuntGame().solveAll(graph);
+        System.out.println(solution.outcome(1, 2, TreasureHuntGame.MOUSE_TURN));  // Output: 0 (Draw)
+        System.out.println(solution.outcome(3, 4, TreasureHuntGame.MOUSE_TURN));  // Output: 1 (Mouse wins)
+        System.out.println(solution.distance(3, 4, TreasureHuntGame.MOUSE_TURN)); // Output: 3
+        System.out.println(solution.bestMove(3, 4, TreasureHuntGame.MOUSE_TURN)); // Output: 5
+
+        // Save once, then reload the table without solving again
+        Path file = Files.createTempFile("treasure", ".solution");
+        try {
+            solution.save(file);
+            GameSolution loaded = GameSolution.load(file);
+            System.out.println(loaded.outcome(3, 4, TreasureHuntGame.MOUSE_TURN));  // Output: 1
+            System.out.println(loaded.bestMove(3, 4, TreasureHuntGame.MOUSE_TURN)); // Output: 5
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -1,8 +1,122 @@
 package dsa;
 public class MagicalWordsDP {
 
-    // Main method to compute the maximum product of two non-overlapping palindromic substrings
-    public static int maxMagicalPower(String s) {
+    /**
+     * Computes the maximum product of the lengths of two non-overlapping palindromic substrings
+     * in linear time and memory.
+     *
+     * Manacher's algorithm gives the longest odd and even palindrome around every center. Each one
+     * marks the palindrome ending (and starting) at its outer edge; shrinking a palindrome by one
+     * character on both sides keeps it a palindrome, so endLen[i] >= endLen[i + 1] - 2 fills in the
+     * rest. Prefix/suffix maxima then give leftMax/rightMax for the same split-point scan as the
+     * O(n^2) version, which is kept as maxMagicalPowerBruteForce.
+     *
+     * The product is returned as a long because two palindromes of 100k characters overflow an int.
+     *
+     * Time Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    public static long maxMagicalPower(String s) {
+        int n = s.length();
+        if (n < 2) return 0;
+
+        // Step 1: Manacher radii
+        int[] odd = oddRadii(s);
+        int[] even = evenRadii(s);
+
+        // Step 2: Longest palindrome ending exactly at / starting exactly at each index
+        int[] endLen = new int[n];
+        int[] startLen = new int[n];
+        palindromeEnds(odd, even, endLen, startLen);
+
+        // Step 3: leftMax as a prefix maximum of endLen, rightMax as a suffix maximum of startLen
+        // (reusing the arrays in place)
+        for (int i = 1; i < n; i++) {
+            endLen[i] = Math.max(endLen[i], endLen[i - 1]);
+        }
+        for (int i = n - 2; i >= 0; i--) {
+            startLen[i] = Math.max(startLen[i], startLen[i + 1]);
+        }
+
+        // Step 4: Try all possible split points between index i and i+1
+        long maxProduct = 0;
+        for (int i = 0; i < n - 1; i++) {
+            maxProduct = Math.max(maxProduct, (long) endLen[i] * startLen[i + 1]);
+        }
+        return maxProduct;
+    }
+
+    /**
+     * Fills endLen[i] / startLen[i] with the length of the longest palindrome ending exactly at /
+     * starting exactly at index i, from Manacher radii. Pass even = null to consider odd-length
+     * palindromes only.
+     */
+    static void palindromeEnds(int[] odd, int[] even, int[] endLen, int[] startLen) {
+        int n = odd.length;
+        for (int c = 0; c < n; c++) {
+            // Odd palindrome s[c - r + 1 .. c + r - 1] of length 2r - 1
+            int r = odd[c];
+            endLen[c + r - 1] = Math.max(endLen[c + r - 1], 2 * r - 1);
+            startLen[c - r + 1] = Math.max(startLen[c - r + 1], 2 * r - 1);
+
+            // Even palindrome s[c - r .. c + r - 1] of length 2r (centered between c - 1 and c)
+            r = even != null ? even[c] : 0;
+            if (r > 0) {
+                endLen[c + r - 1] = Math.max(endLen[c + r - 1], 2 * r);
+                startLen[c - r] = Math.max(startLen[c - r], 2 * r);
+            }
+        }
+        // Shrinking a palindrome by one character on both sides keeps it a palindrome (and its parity)
+        for (int i = n - 2; i >= 0; i--) {
+            endLen[i] = Math.max(endLen[i], endLen[i + 1] - 2);
+        }
+        for (int i = 1; i < n; i++) {
+            startLen[i] = Math.max(startLen[i], startLen[i - 1] - 2);
+        }
+    }
+
+    /**
+     * Manacher's algorithm for odd palindromes.
+     * @return odd[i] = r such that s[i - r + 1 .. i + r - 1] is the longest odd palindrome centered at i.
+     */
+    static int[] oddRadii(String s) {
+        int n = s.length();
+        int[] odd = new int[n];
+        for (int i = 0, left = 0, right = -1; i < n; i++) {
+            // Reuse the mirror radius inside the rightmost palindrome found so far
+            int r = i > right ? 1 : Math.min(odd[left + right - i], right - i + 1);
+            while (i - r >= 0 && i + r < n && s.charAt(i - r) == s.charAt(i + r)) r++;
+            odd[i] = r;
+            if (i + r - 1 > right) {
+                left = i - r + 1;
+                right = i + r - 1;
+            }
+        }
+        return odd;
+    }
+
+    /**
+     * Manacher's algorithm for even palindromes.
+     * @return even[i] = r such that s[i - r .. i + r - 1] is the longest even palindrome centered
+     *         between i - 1 and i (0 if s[i - 1] != s[i]).
+     */
+    static int[] evenRadii(String s) {
+        int n = s.length();
+        int[] even = new int[n];
+        for (int i = 0, left = 0, right = -1; i < n; i++) {
+            int r = i > right ? 0 : Math.min(even[left + right - i + 1], right - i + 1);
+            while (i - r - 1 >= 0 && i + r < n && s.charAt(i - r - 1) == s.charAt(i + r)) r++;
+            even[i] = r;
+            if (i + r - 1 > right) {
+                left = i - r;
+                right = i + r - 1;
+            }
+        }
+        return even;
+    }
+
+    // O(n^2) reference version, kept to check maxMagicalPower on small inputs
+    public static int maxMagicalPowerBruteForce(String s) {
         int n = s.length();
 
         // Step 1: Create a DP table where dp[i][j] = true if substring s[i..j] is a palindrome
@@ -88,5 +202,8 @@ public class MagicalWordsDP {
 
         // Test with even palindromes like "abba" and "cc"
         System.out.println("Output 4: " + maxMagicalPower("abbaaccddcc")); // Should catch "abba" and "cc"
+
+        // The O(n^2) oracle agrees on the same inputs
+        System.out.println("Brute force 2: " + maxMagicalPowerBruteForce("levelwowracecar")); // 35
     }
 }
@@ -0,0 +1,105 @@
+package dsa;
+import java.util.*;
+
+public class MagicalWordsStream {
+
+    // Palindromic tree of the text; storage grows with distinct palindromes, not with n^2
+    private final PalindromicTree tree = new PalindromicTree();
+    private int length = 0;
+    private int suffix = 1;                   // Node of the longest palindromic suffix of the text
+
+    // leftMax[i] = length of the longest palindrome ending at or before index i
+    private int[] leftMax = new int[16];
+
+    private long maxProduct = 0;              // Best product of two non-overlapping palindromes so far
+
+    /**
+     * Appends one character and updates the best product.
+     *
+     * The eertree step finds the new longest palindromic suffix in amortized O(1). New pairs always
+     * end with a palindromic suffix B of the text, paired with the longest palindrome ending before B.
+     * Suffix palindromes are visited in O(log n) series (runs with the same length difference), and a
+     * whole series is skipped when even its longest member times the best left palindrome available
+     * to it cannot beat the current product.
+     *
+     * @param c The character to append.
+     */
+    public void append(char c) {
+        int i = length;
+        if (i == leftMax.length) leftMax = Arrays.copyOf(leftMax, i * 2);
+        length++;
+
+        // Step 1: Eertree insertion gives the new longest palindromic suffix
+        suffix = tree.append(c);
+        int[] len = tree.len, diff = tree.diff, seriesLink = tree.seriesLink;
+
+        // Step 2: Longest palindrome ending at or before i
+        leftMax[i] = Math.max(i > 0 ? leftMax[i - 1] : 0, len[suffix]);
+
+        // Step 3: Pair every palindromic suffix B = text[i - l + 1 .. i] with leftMax[i - l]
+        for (int u = suffix; len[u] > 0; u = seriesLink[u]) {
+            int shortest = len[seriesLink[u]] + diff[u];        // Shortest length in this series
+            long leftBound = leftAt(i - shortest);               // Best left palindrome for any member
+            if ((long) len[u] * leftBound <= maxProduct) continue;
+
+            // leftMax[i - l] <= i - l + 1, so only lengths with l * (i + 1 - l) > maxProduct can help.
+            // On repetitive text this narrows a long series to the few lengths around (i + 1) / 2.
+            long n = i + 1;
+            long disc = n * n - 4 * maxProduct;
+            if (disc < 0) continue;
+            double root = Math.sqrt((double) disc);
+            long upper = (long) ((n + root) / 2) + 1, lower = (long) ((n - root) / 2) - 1;
+            int start = len[u];
+            if (upper < start) start -= (int) ((start - upper + diff[u] - 1) / diff[u]) * diff[u];
+            int end = (int) Math.max(shortest, lower);
+
+            for (int l = start; l >= end; l -= diff[u]) {
+                if ((long) l * leftBound <= maxProduct) break;   // Shorter members cannot do better
+                maxProduct = Math.max(maxProduct, (long) l * leftAt(i - l));
+            }
+        }
+    }
+
+    /**
+     * @return Maximum product of the lengths of two non-overlapping palindromes in the text so far.
+     */
+    public long getMaxProduct() {
+        return maxProduct;
+    }
+
+    /**
+     * @return Length of the longest palindrome in the text so far.
+     */
+    public int getLongestPalindrome() {
+        return length == 0 ? 0 : leftMax[length - 1];
+    }
+
+    /**
+     * @return Number of distinct non-empty palindromes in the text so far.
+     */
+    public int getDistinctPalindromes() {
+        return tree.size() - 2;
+    }
+
+    /**
+     * @return leftMax[index], or 0 when no character precedes the split.
+     */
+    private int leftAt(int index) {
+        return index >= 0 ? leftMax[index] : 0;
+    }
+
+    public static void main(String[] args) {
+        MagicalWordsStream stream = new MagicalWordsStream();
+        for (char c : "levelwowracecar".toCharArray()) {
+            stream.append(c);
+        }
+        System.out.println("Max product: " + stream.getMaxProduct());                  // Output: 35
+        System.out.println("Distinct palindromes: " + stream.getDistinctPalindromes());
+
+        // Keep appending: "xyzyx" extends the text with another palindrome
+        for (char c : "xyzyx".toCharArray()) {
+            stream.append(c);
+        }
+        System.out.println("Max product after more text: " + stream.getMaxProduct()); // Output: 35
+    }
+}
@@ -1,4 +1,6 @@
 package dsa;
+import java.util.*;
+
 public class MaximizeCapital {
 
     /**
@@ -42,14 +44,121 @@ public class MaximizeCapital {
         return c;
     }
 
+    /**
+     * Heap-based version of findMaxCapital.
+     *
+     * Projects are sorted by investment once. As capital grows, every newly affordable project is
+     * unlocked into a max-heap of revenues, and each pick pops the heap top. The heap is a plain int[]
+     * and the sort works on packed long keys, so no Integer boxing happens. Capital is a long so
+     * many large revenues cannot overflow it. Revenues must be non-negative: capital then never
+     * decreases, so an unlocked project stays affordable for the rest of the run.
+     *
+     * Time Complexity: O(n log n + k log n)
+     * Space Complexity: O(n)
+     *
+     * @param k Maximum number of projects to launch.
+     * @param c Initial capital.
+     * @param revenues Revenue gained from each project.
+     * @param investments Capital required to start each project.
+     * @return Final capital after launching at most k projects.
+     */
+    public static long findMaxCapitalHeap(int k, long c, int[] revenues, int[] investments) {
+        int n = revenues.length;
+        for (int revenue : revenues) {
+            if (revenue < 0) throw new IllegalArgumentException("Revenue must not be negative: " + revenue);
+        }
+
+        // Step 1: Sort projects by investment; index lives in the low 32 bits of each key
+        long[] byInvestment = sortByInvestment(investments);
+
+        // Step 2: Unlock affordable projects into the revenue heap and pick the best one each round
+        int[] heap = new int[n];
+        int heapSize = 0;
+        int next = 0;  // Next project (in investment order) that is not yet unlocked
+
+        for (int i = 0; i < k; i++) {
+            while (next < n && (int) (byInvestment[next] >> 32) <= c) {
+                heapSize = push(heap, heapSize, revenues[(int) byInvestment[next]]);
+                next++;
+            }
+
+            // No affordable project is left, so capital cannot change any more
+            if (heapSize == 0) break;
+
+            c += heap[0];
+            heapSize = pop(heap, heapSize);
+        }
+
+        return c;
+    }
+
+    /**
+     * Sorts project indices by investment without boxing.
+     * Each key packs the (signed) investment in the high 32 bits and the index in the low 32 bits,
+     * so sorting the longs orders projects by investment.
+     *
+     * @return Packed keys in ascending investment order.
+     */
+    static long[] sortByInvestment(int[] investments) {
+        long[] keys = new long[investments.length];
+        for (int i = 0; i < investments.length; i++) {
+            keys[i] = ((long) investments[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Adds a value to an int[] max-heap.
+     *
+     * @return New heap size.
+     */
+    static int push(int[] heap, int size, int value) {
+        int pos = size;
+        // Sift up: move smaller parents down until the value fits
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (heap[parent] >= value) break;
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = value;
+        return size + 1;
+    }
+
+    /**
+     * Removes the maximum value from an int[] max-heap.
+     *
+     * @return New heap size.
+     */
+    static int pop(int[] heap, int size) {
+        int last = heap[--size];
+        int pos = 0;
+        // Sift down: move larger children up until the last value fits
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (heap[child] <= last) break;
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        if (size > 0) heap[pos] = last;
+        return size;
+    }
+
     // Test driver method
     public static void main(String[] args) {
         // Test Case 1
         int result1 = findMaxCapital(2, 0, new int[]{2, 5, 8}, new int[]{0, 2, 3});
         System.out.println("Max Capital (Example 1): " + result1); // Output: 7
+        System.out.println("Max Capital with heaps (Example 1): "
+                + findMaxCapitalHeap(2, 0, new int[]{2, 5, 8}, new int[]{0, 2, 3})); // Output: 7
 
         // Test Case 2
         int result2 = findMaxCapital(3, 1, new int[]{3, 6, 10}, new int[]{1, 3, 5});
         System.out.println("Max Capital (Example 2): " + result2); // Output: 20
+        System.out.println("Max Capital with heaps (Example 2): "
+                + findMaxCapitalHeap(3, 1, new int[]{3, 6, 10}, new int[]{1, 3, 5})); // Output: 20
     }
 }
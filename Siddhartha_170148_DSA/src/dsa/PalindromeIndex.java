@@ -0,0 +1,253 @@
+package dsa;
+import java.util.*;
+
+public class PalindromeIndex {
+
+    private static final long NONE = Long.MIN_VALUE;  // No way to place the requested pieces
+    private static final long INF = Long.MAX_VALUE;
+
+    private final int n;
+
+    // endAll[i] / startAll[i] = longest palindrome ending / starting exactly at index i;
+    // endOdd / startOdd are the same restricted to odd-length palindromes
+    private final int[] endAll, startAll, endOdd, startOdd;
+
+    // Palindromic suffixes of every prefix, for queries with more than two pieces
+    private final PalindromicTree tree = new PalindromicTree();
+    private final int[] suffixNode;  // suffixNode[i] = tree node of the longest palindrome ending at i
+
+    /**
+     * Analyses the string once: Manacher radii give the longest palindrome ending and starting at
+     * every index (for all palindromes and for odd-length ones), and a palindromic tree records the
+     * palindromic suffixes of every prefix. All queries below reuse these arrays.
+     *
+     * Time Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    public PalindromeIndex(String s) {
+        n = s.length();
+
+        // Step 1: Manacher radii, turned into exact start/end lengths for both parities
+        int[] odd = MagicalWordsDP.oddRadii(s);
+        int[] even = MagicalWordsDP.evenRadii(s);
+        endAll = new int[n];
+        startAll = new int[n];
+        endOdd = new int[n];
+        startOdd = new int[n];
+        MagicalWordsDP.palindromeEnds(odd, even, endAll, startAll);
+        MagicalWordsDP.palindromeEnds(odd, null, endOdd, startOdd);
+
+        // Step 2: Palindromic tree, remembering the longest palindromic suffix after each character
+        suffixNode = new int[n];
+        for (int i = 0; i < n; i++) {
+            suffixNode[i] = tree.append(s.charAt(i));
+        }
+    }
+
+    /**
+     * Maximum product of the lengths of two non-overlapping palindromes.
+     * Same result as MagicalWordsDP.maxMagicalPower when oddOnly is false.
+     *
+     * Time Complexity: O(n)
+     *
+     * @param oddOnly Only odd-length palindromes may be used.
+     */
+    public long maxProduct(boolean oddOnly) {
+        return bestPair(oddOnly, true);
+    }
+
+    /**
+     * Maximum total length of two non-overlapping palindromes.
+     *
+     * Time Complexity: O(n)
+     *
+     * @param oddOnly Only odd-length palindromes may be used.
+     */
+    public long maxSum(boolean oddOnly) {
+        return bestPair(oddOnly, false);
+    }
+
+    /**
+     * Maximum product of the lengths of k non-overlapping palindromes, or 0 if k > n.
+     *
+     * Layer j of the DP holds, for every prefix, the best product of j pieces inside it. The last
+     * piece is a palindromic suffix of the prefix; the suffixes are walked by series (O(log n) per
+     * prefix), and inside a series only lengths whose upper bound can beat the current best are
+     * tried. The bound uses the best j - 1 pieces left of the shortest member, and the AM-GM limit
+     * ((p / (j - 1))^(j - 1) for j - 1 pieces in p characters), which keeps repetitive text cheap.
+     *
+     * Time Complexity: O(n * k * log n) series visits plus the members inside the bound window
+     *
+     * @param k       Number of pieces, at least 1.
+     * @param oddOnly Only odd-length palindromes may be used.
+     * @throws ArithmeticException if the product does not fit in a long.
+     */
+    public long maxProduct(int k, boolean oddOnly) {
+        return bestPieces(k, oddOnly, true);
+    }
+
+    /**
+     * Maximum total length of k non-overlapping palindromes, or 0 if k > n.
+     *
+     * With a sum, the value of a last piece starting after prefix p is (i + 1) - (p - best[p]), which
+     * depends only on p. Members of a series that share their start with the previous occurrence of
+     * the shorter series can therefore reuse its stored minimum (the usual series-link DP), so each
+     * series costs O(1). Minima are kept per parity of p, which is what odd-only queries need.
+     *
+     * Time Complexity: O(n * k * log n)
+     *
+     * @param k       Number of pieces, at least 1.
+     * @param oddOnly Only odd-length palindromes may be used.
+     */
+    public long maxSum(int k, boolean oddOnly) {
+        return bestPieces(k, oddOnly, false);
+    }
+
+    /**
+     * Split-point scan over prefix maxima of endLen and suffix maxima of startLen.
+     */
+    private long bestPair(boolean oddOnly, boolean product) {
+        if (n < 2) return 0;
+        int[] end = oddOnly ? endOdd : endAll;
+        int[] start = oddOnly ? startOdd : startAll;
+
+        int[] rightMax = new int[n];
+        rightMax[n - 1] = start[n - 1];
+        for (int i = n - 2; i >= 0; i--) {
+            rightMax[i] = Math.max(start[i], rightMax[i + 1]);
+        }
+
+        long best = 0;
+        int leftMax = 0;
+        for (int i = 0; i < n - 1; i++) {
+            leftMax = Math.max(leftMax, end[i]);
+            long value = product ? (long) leftMax * rightMax[i + 1] : (long) leftMax + rightMax[i + 1];
+            best = Math.max(best, value);
+        }
+        return best;
+    }
+
+    private long bestPieces(int k, boolean oddOnly, boolean product) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Number of pieces must be at least 1: " + k);
+        }
+        if (k > n) return 0;
+        if (k == 2) return bestPair(oddOnly, product);
+
+        int[] end = oddOnly ? endOdd : endAll;
+
+        // Step 1: One piece: the longest palindrome ending at or before each prefix
+        long[] prev = new long[n + 1];
+        long[] cur = new long[n + 1];
+        prev[0] = NONE;
+        for (int p = 1; p <= n; p++) {
+            prev[p] = Math.max(prev[p - 1], end[p - 1]);
+        }
+
+        // Step 2: Layer j from layer j - 1; the last piece is a palindromic suffix of the prefix
+        long[][] series = product ? null : new long[2][tree.size()];
+        for (int j = 2; j <= k; j++) {
+            cur[0] = NONE;
+            for (int i = 0; i < n; i++) {
+                long candidate = product ? lastPieceProduct(prev, cur[i], i, j, oddOnly)
+                                         : lastPieceSum(prev, series, i, oddOnly);
+                cur[i + 1] = Math.max(cur[i], candidate);
+            }
+            long[] swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        return Math.max(prev[n], 0);
+    }
+
+    /**
+     * Best sum whose last piece ends at index i, with series[parity][v] caching the smallest
+     * p - prev[p] over the start prefixes p of v's series (split by the parity of p).
+     */
+    private long lastPieceSum(long[] prev, long[][] series, int i, boolean oddOnly) {
+        int[] len = tree.len, link = tree.link, diff = tree.diff, seriesLink = tree.seriesLink;
+        long best = INF;
+        for (int v = suffixNode[i]; len[v] > 0; v = seriesLink[v]) {
+            // Start prefix of the shortest member of this series
+            int p = i + 1 - (len[seriesLink[v]] + diff[v]);
+            long uncovered = prev[p] == NONE ? INF : p - prev[p];
+            series[0][v] = (p & 1) == 0 ? uncovered : INF;
+            series[1][v] = (p & 1) == 1 ? uncovered : INF;
+
+            // The other members start where link[v]'s series started diff[v] characters ago
+            if (diff[v] == diff[link[v]]) {
+                series[0][v] = Math.min(series[0][v], series[0][link[v]]);
+                series[1][v] = Math.min(series[1][v], series[1][link[v]]);
+            }
+
+            // Length i + 1 - p is odd exactly when p has the parity of i
+            long value = oddOnly ? series[i & 1][v] : Math.min(series[0][v], series[1][v]);
+            best = Math.min(best, value);
+        }
+        return best == INF ? NONE : i + 1 - best;
+    }
+
+    /**
+     * Best product of j pieces whose last piece ends at index i; only values above floor matter.
+     */
+    private long lastPieceProduct(long[] prev, long floor, int i, int j, boolean oddOnly) {
+        int[] len = tree.len, diff = tree.diff, seriesLink = tree.seriesLink;
+        long best = floor;
+        double peak = (i + 1) / (double) j;  // Length maximizing the AM-GM bound
+        for (int v = suffixNode[i]; len[v] > 0; v = seriesLink[v]) {
+            int d = diff[v], longest = len[v], shortest = len[seriesLink[v]] + d;
+            long leftBound = prev[i + 1 - shortest];  // No member has more to its left
+            if (leftBound == NONE || (double) longest * leftBound <= best) continue;
+
+            // Walk up from the peak (the AM-GM bound falls as l grows), starting where l * leftBound > best
+            long low = Math.max(Math.max((long) Math.floor(peak) + 1, best / leftBound + 1), shortest);
+            if (low <= longest) {
+                for (int l = longest - (int) ((longest - low) / d) * d; l <= longest; l += d) {
+                    if (bound(l, i, j) < best) break;
+                    best = Math.max(best, pieceValue(prev, l, i, oddOnly));
+                }
+            }
+
+            // Walk down from the peak (both bounds fall as l shrinks)
+            int top = (int) Math.min(longest, (long) Math.floor(peak));
+            if (top < shortest) continue;
+            for (int l = longest - (longest - top + d - 1) / d * d; l >= shortest; l -= d) {
+                if ((double) l * leftBound <= best || bound(l, i, j) < best) break;
+                best = Math.max(best, pieceValue(prev, l, i, oddOnly));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * prev[p] * l for the piece of length l ending at i, or NONE if it cannot be used.
+     */
+    private static long pieceValue(long[] prev, int l, int i, boolean oddOnly) {
+        long left = prev[i + 1 - l];
+        if (left == NONE || oddOnly && (l & 1) == 0) return NONE;
+        return Math.multiplyExact(left, l);
+    }
+
+    /**
+     * Upper bound l * ((i + 1 - l) / (j - 1))^(j - 1) on j pieces ending at i whose last piece has
+     * length l, nudged up so rounding never prunes a real candidate.
+     */
+    private static double bound(int l, int i, int j) {
+        return l * Math.pow((i + 1 - l) / (double) (j - 1), j - 1) * (1 + 1e-9) + 1;
+    }
+
+    public static void main(String[] args) {
+        // Analyse once, then answer several queries on the same string
+        PalindromeIndex index = new PalindromeIndex("levelwowracecar");
+        System.out.println("Product: " + index.maxProduct(false));               // Output: 35
+        System.out.println("Sum: " + index.maxSum(false));                       // Output: 12
+        System.out.println("Three pieces, product: " + index.maxProduct(3, false)); // Output: 105
+        System.out.println("Three pieces, sum: " + index.maxSum(3, false));         // Output: 15
+
+        // Odd-length palindromes only: "abba" no longer counts
+        PalindromeIndex mixed = new PalindromeIndex("abbaxyzyx");
+        System.out.println("Product: " + mixed.maxProduct(false));               // Output: 20
+        System.out.println("Odd-only product: " + mixed.maxProduct(true));       // Output: 5
+        System.out.println("Odd-only sum: " + mixed.maxSum(true));               // Output: 6
+    }
+}
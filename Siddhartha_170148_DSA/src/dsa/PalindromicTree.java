@@ -0,0 +1,120 @@
+package dsa;
+import java.util.*;
+
+/**
+ * Palindromic tree (eertree) over a growing text, shared by MagicalWordsStream and PalindromeIndex.
+ *
+ * Node 0 is the imaginary root of length -1 and node 1 the empty palindrome; every other node is one
+ * distinct palindrome of the text, so storage grows with distinct palindromes. The palindromic
+ * suffixes of the text are node, link[node], link[link[node]], ... and split into O(log n) series of
+ * equal length difference, reachable through seriesLink.
+ */
+class PalindromicTree {
+
+    int[] len = new int[16];          // Length of the palindrome at each node
+    int[] link = new int[16];         // Longest proper palindromic suffix
+    int[] diff = new int[16];         // len[v] - len[link[v]]
+    int[] seriesLink = new int[16];   // First suffix palindrome whose diff differs from diff[v]
+    private int[] firstEdge = new int[16];  // Head of each node's edge list, -1 if none
+    private int nodes = 2;
+
+    // Edges stored as linked lists: edge e goes to edgeTarget[e] by adding edgeChar[e] on both sides
+    private char[] edgeChar = new char[16];
+    private int[] edgeTarget = new int[16];
+    private int[] nextEdge = new int[16];
+    private int edges = 0;
+
+    private char[] text = new char[16];  // Characters appended so far
+    private int length = 0;
+    private int suffix = 1;              // Node of the longest palindromic suffix of the text
+
+    PalindromicTree() {
+        len[0] = -1;
+        len[1] = 0;
+        firstEdge[0] = -1;
+        firstEdge[1] = -1;
+    }
+
+    /**
+     * Appends one character in amortized O(1).
+     *
+     * @return Node of the longest palindromic suffix of the text after the append.
+     */
+    int append(char c) {
+        int i = length;
+        if (i == text.length) text = Arrays.copyOf(text, i * 2);
+        text[i] = c;
+        length++;
+
+        // Extend the longest suffix palindrome that can be wrapped by c
+        int v = suffix;
+        while (!canExtend(v, i, c)) v = link[v];
+
+        int child = findEdge(v, c);
+        if (child == -1) {
+            child = newNode(len[v] + 2);
+
+            // Suffix link: the next shorter suffix palindrome of v that can also be wrapped by c
+            if (len[child] == 1) {
+                link[child] = 1;
+            } else {
+                int w = link[v];
+                while (!canExtend(w, i, c)) w = link[w];
+                link[child] = findEdge(w, c);
+            }
+            diff[child] = len[child] - len[link[child]];
+            seriesLink[child] = diff[child] == diff[link[child]] ? seriesLink[link[child]] : link[child];
+            addEdge(v, c, child);
+        }
+        suffix = child;
+        return child;
+    }
+
+    /**
+     * @return Number of nodes, including the two roots.
+     */
+    int size() {
+        return nodes;
+    }
+
+    /**
+     * @return True if the palindrome at node v, ending at i - 1, can be wrapped by c on both sides.
+     */
+    private boolean canExtend(int v, int i, char c) {
+        int before = i - len[v] - 1;
+        return before >= 0 && text[before] == c || v == 0;
+    }
+
+    private int findEdge(int v, char c) {
+        for (int e = firstEdge[v]; e != -1; e = nextEdge[e]) {
+            if (edgeChar[e] == c) return edgeTarget[e];
+        }
+        return -1;
+    }
+
+    private void addEdge(int v, char c, int target) {
+        if (edges == edgeChar.length) {
+            edgeChar = Arrays.copyOf(edgeChar, edges * 2);
+            edgeTarget = Arrays.copyOf(edgeTarget, edges * 2);
+            nextEdge = Arrays.copyOf(nextEdge, edges * 2);
+        }
+        edgeChar[edges] = c;
+        edgeTarget[edges] = target;
+        nextEdge[edges] = firstEdge[v];
+        firstEdge[v] = edges++;
+    }
+
+    private int newNode(int length) {
+        if (nodes == len.length) {
+            int capacity = nodes * 2;
+            len = Arrays.copyOf(len, capacity);
+            link = Arrays.copyOf(link, capacity);
+            diff = Arrays.copyOf(diff, capacity);
+            seriesLink = Arrays.copyOf(seriesLink, capacity);
+            firstEdge = Arrays.copyOf(firstEdge, capacity);
+        }
+        len[nodes] = length;
+        firstEdge[nodes] = -1;
+        return nodes++;
+    }
+}
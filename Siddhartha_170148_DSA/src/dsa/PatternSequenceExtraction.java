@@ -1,4 +1,6 @@
 package dsa;
+import java.util.*;
+
 public class PatternSequenceExtraction {
 
     /**
@@ -10,8 +12,99 @@ public class PatternSequenceExtraction {
      * @param p2  The target subsequence we want to extract.
      * @param t2  The maximum number of extractions allowed.
      * @return    The number of times p2 can be extracted from the repeated p1 sequence (up to t2 times).
+     *
+     * The repeated sequence is never built: one pass over p1 is precomputed for every starting offset
+     * in p2, and the passes repeat with a cycle of at most |p2| distinct offsets.
+     * Time Complexity: O(|p1| * |p2|), independent of t1
      */
     public static int maxExtracted(String p1, int t1, String p2, int t2) {
+        if (p2.isEmpty()) return t2;  // An empty pattern can be extracted any number of times, even from nothing
+        if (t1 <= 0 || t2 <= 0) return 0;
+
+        int m = p2.length();
+
+        // Step 1: For every offset j in p2, simulate one pass over p1:
+        // nextOffset[j] = position in p2 after the pass, completions[j] = full copies of p2 finished
+        int[] nextOffset = new int[m];
+        int[] completions = new int[m];
+        for (int start = 0; start < m; start++) {
+            int j = start, done = 0;
+            for (int i = 0; i < p1.length(); i++) {
+                if (p1.charAt(i) == p2.charAt(j)) {
+                    j++;
+                    if (j == m) {
+                        j = 0;
+                        done++;
+                    }
+                }
+            }
+            nextOffset[start] = j;
+            completions[start] = done;
+        }
+
+        // Step 2: Repeat the passes t1 times, skipping over the cycle
+        return countPasses(nextOffset, completions, t1, t2);
+    }
+
+    /**
+     * Combines per-offset pass results over t1 passes of p1.
+     * The offset in p2 at the start of a pass determines everything after it, so the first
+     * repeated offset starts a cycle that can be skipped arithmetically.
+     *
+     * @param nextOffset  nextOffset[j] = offset in p2 after one pass of p1 started at offset j.
+     * @param completions completions[j] = full copies of p2 finished during that pass.
+     * @param t1          Number of passes (repetitions of p1).
+     * @param t2          Maximum number of extractions allowed.
+     * @return            Total extractions over the t1 passes, capped at t2.
+     */
+    static int countPasses(int[] nextOffset, int[] completions, int t1, int t2) {
+        int m = nextOffset.length;
+        int[] seenAtPass = new int[m];
+        Arrays.fill(seenAtPass, -1);
+        long[] totalBefore = new long[m + 1];  // totalBefore[pass] = completions in passes [0, pass)
+
+        int offset = 0;
+        long total = 0;
+        for (int pass = 0; pass < t1; pass++) {
+            if (seenAtPass[offset] != -1) {
+                int cycleStart = seenAtPass[offset];
+                int cycleLength = pass - cycleStart;
+                long perCycle = total - totalBefore[cycleStart];
+
+                long remainingPasses = t1 - pass;
+                total += remainingPasses / cycleLength * perCycle;
+
+                // Finish the partial cycle using the recorded prefix of the cycle
+                int leftover = (int) (remainingPasses % cycleLength);
+                total += totalBefore[cycleStart + leftover] - totalBefore[cycleStart];
+                break;
+            }
+
+            seenAtPass[offset] = pass;
+            totalBefore[pass] = total;
+            total += completions[offset];
+            offset = nextOffset[offset];
+            totalBefore[pass + 1] = total;
+            if (total >= t2) break;  // Enough extractions already
+        }
+
+        // Return the number of times we were able to extract p2, not exceeding t2
+        return (int) Math.min(total, t2);
+    }
+
+    /**
+     * Reference version that builds the full repeated sequence and scans it; kept to check
+     * maxExtracted on small inputs.
+     *
+     * Time Complexity: O(|p1| * t1), with the repeated sequence held in memory
+     *
+     * @param p1  The pattern string to be repeated.
+     * @param t1  The number of times p1 is repeated to create the full sequence.
+     * @param p2  The target subsequence we want to extract.
+     * @param t2  The maximum number of extractions allowed.
+     * @return    The number of times p2 can be extracted from the repeated p1 sequence (up to t2 times).
+     */
+    public static int maxExtractedBruteForce(String p1, int t1, String p2, int t2) {
         // Generate the full sequence by repeating p1 t1 times.
         String seqA = repeatString(p1, t1);
 
@@ -92,5 +185,13 @@ public class PatternSequenceExtraction {
         t2 = 5;
         result = maxExtracted(p1, t1, p2, t2);
         System.out.println("Max extracted times with t2=5: " + result); 
+        System.out.println("Brute force with t2=5: " + maxExtractedBruteForce(p1, t1, p2, t2));
+
+        // Example 3: t1 far too large to materialize
+        System.out.println("Max extracted times with t1=1e9: " + maxExtracted("bca", 1_000_000_000, "ba", Integer.MAX_VALUE));
+
+        // Example 4: empty pattern, even from an empty sequence (t1 = 0)
+        System.out.println("Empty pattern: " + maxExtracted("c", 0, "", 11)
+                + " (brute force: " + maxExtractedBruteForce("c", 0, "", 11) + ")");  // Output: 11 (brute force: 11)
     }
 }
@@ -0,0 +1,239 @@
+package dsa;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PinPolicy {
+
+    // Compiled policies by specification, so repeated lookups reuse the same lookup table
+    private static final Map<String, PinPolicy> CACHE = new ConcurrentHashMap<>();
+
+    // Same rules as StrongPinChecker for ASCII PINs: 6-20 chars, lower/upper/digit, no three in a row
+    public static final PinPolicy DEFAULT = of(6, 20, 2, range('a', 'z'), range('A', 'Z'), range('0', '9'));
+
+    private final int minLength;     // Shortest allowed PIN
+    private final int maxLength;     // Longest allowed PIN
+    private final int maxRun;        // Longest allowed run of one repeated character
+    private final int classCount;    // Number of required character classes
+    private final int[] classMask;   // classMask[c] = bit set of required classes that character c belongs to
+    private final int[] coverMasks;  // Distinct class masks not contained in another, widest first
+
+    private PinPolicy(int minLength, int maxLength, int maxRun, String[] requiredClasses) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.maxRun = maxRun;
+        this.classCount = requiredClasses.length;
+
+        // Compile the classes into one lookup table indexed by character
+        int maxChar = 0;
+        for (String chars : requiredClasses) {
+            for (int i = 0; i < chars.length(); i++) maxChar = Math.max(maxChar, chars.charAt(i));
+        }
+        classMask = new int[maxChar + 1];
+        for (int cls = 0; cls < requiredClasses.length; cls++) {
+            for (int i = 0; i < requiredClasses[cls].length(); i++) {
+                classMask[requiredClasses[cls].charAt(i)] |= 1 << cls;
+            }
+        }
+
+        // Keep one mask per useful kind of character: a mask inside another never covers more
+        Set<Integer> distinct = new HashSet<>();
+        for (int mask : classMask) if (mask != 0) distinct.add(mask);
+        List<Integer> kept = new ArrayList<>();
+        for (int mask : distinct) {
+            boolean dominated = false;
+            for (int other : distinct) {
+                if (other != mask && (other & mask) == mask) dominated = true;
+            }
+            if (!dominated) kept.add(mask);
+        }
+        kept.sort((a, b) -> Integer.bitCount(b) - Integer.bitCount(a));
+        coverMasks = new int[kept.size()];
+        for (int k = 0; k < coverMasks.length; k++) coverMasks[k] = kept.get(k);
+    }
+
+    /**
+     * Returns the compiled policy for the given rules, compiling it only on first use.
+     *
+     * @param minLength Shortest allowed PIN.
+     * @param maxLength Longest allowed PIN.
+     * @param maxRun Longest allowed run of one repeated character (2 means "no three in a row").
+     * @param requiredClasses Character classes the PIN must each contain at least once; each class
+     *                        is given as the string of its characters (see {@link #range(char, char)}).
+     * @return The compiled, shared policy.
+     */
+    public static PinPolicy of(int minLength, int maxLength, int maxRun, String... requiredClasses) {
+        if (maxRun < 1) {
+            throw new IllegalArgumentException("Max run must be at least 1: " + maxRun);
+        }
+        if (minLength < 0 || maxLength < minLength || maxLength < requiredClasses.length) {
+            throw new IllegalArgumentException("Invalid length bounds: " + minLength + ".." + maxLength);
+        }
+        if (requiredClasses.length > 31) {
+            throw new IllegalArgumentException("At most 31 required classes are supported");
+        }
+
+        StringBuilder key = new StringBuilder();
+        key.append(minLength).append(',').append(maxLength).append(',').append(maxRun);
+        for (String chars : requiredClasses) {
+            if (chars.isEmpty()) throw new IllegalArgumentException("Required class must not be empty");
+            key.append('\0').append(chars);
+        }
+        String[] classes = requiredClasses.clone();
+        return CACHE.computeIfAbsent(key.toString(), k -> new PinPolicy(minLength, maxLength, maxRun, classes));
+    }
+
+    /**
+     * @return String of all characters from first to last inclusive, for use as a required class.
+     */
+    public static String range(char first, char last) {
+        StringBuilder chars = new StringBuilder();
+        for (char c = first; c <= last; c++) chars.append(c);
+        return chars.toString();
+    }
+
+    /**
+     * Computes the minimum number of insertions, deletions and replacements that make the PIN
+     * satisfy this policy.
+     *
+     * Runs longer than maxRun need len / (maxRun + 1) replacements. Too-short PINs spend their
+     * mandatory insertions where they save the most replacements; too-long PINs spend their mandatory
+     * deletions on the runs where one replacement is saved for the fewest deletions. Every insertion
+     * or replacement also supplies one character, and a character in several classes supplies all of
+     * them, so the missing classes need as many edits as the smallest set of characters covering them.
+     *
+     * Time Complexity: O(n) for PINs within the length bounds
+     *
+     * @param pin The PIN to evaluate.
+     * @return Number of changes required to satisfy the policy.
+     */
+    public int requiredChanges(CharSequence pin) {
+        int n = pin.length();
+        int span = maxRun + 1;      // A replacement breaks this many repeated characters
+
+        // Step 1: Single pass for the class mask and the base number of replacements
+        int present = 0;
+        int replace = 0;
+        int i = 0;
+        while (i < n) {
+            char c = pin.charAt(i);
+            if (c < classMask.length) present |= classMask[c];
+
+            int runEnd = i + 1;
+            while (runEnd < n && pin.charAt(runEnd) == c) runEnd++;
+            replace += (runEnd - i) / span;
+            i = runEnd;
+        }
+        int missing = coverSize(((1 << classCount) - 1) & ~present);
+
+        // Step 2: Combine with the length bounds
+        if (n < minLength) {
+            int insert = minLength - n;
+            return Math.max(insert + replace - insertionSavings(pin, insert), missing);
+        }
+        if (n <= maxLength) {
+            return Math.max(missing, replace);
+        }
+        int delete = n - maxLength;
+        return delete + Math.max(missing, replace - deletionSavings(pin, delete));
+    }
+
+    /**
+     * Smallest number of characters whose class masks together cover the missing classes.
+     * Disjoint classes need one character each; overlapping classes are searched branch and bound,
+     * always branching on the characters that supply the lowest missing class.
+     */
+    private int coverSize(int missing) {
+        return cover(missing, 0, Integer.bitCount(missing));  // One character per class always works
+    }
+
+    private int cover(int missing, int used, int best) {
+        if (missing == 0) return used;
+        if (used + 1 >= best) return best;  // Another character cannot beat the best cover
+        int lowest = missing & -missing;
+        for (int mask : coverMasks) {
+            if ((mask & lowest) != 0) best = cover(missing & ~mask, used + 1, best);
+        }
+        return best;
+    }
+
+    /**
+     * @return True if the PIN already satisfies this policy.
+     */
+    public boolean isStrong(CharSequence pin) {
+        return requiredChanges(pin) == 0;
+    }
+
+    /**
+     * Maximum number of replacements saved by spending the given number of insertions inside runs.
+     * An insertion shortens a run's effective length by maxRun, a replacement by maxRun + 1, so savings
+     * per insertion are not monotone; a small knapsack over the runs finds the best split.
+     */
+    private int insertionSavings(CharSequence pin, int insert) {
+        int span = maxRun + 1;
+        int[] best = null;  // best[b] = most replacements saved with b insertions
+
+        int i = 0, n = pin.length();
+        while (i < n) {
+            int runEnd = i + 1;
+            while (runEnd < n && pin.charAt(runEnd) == pin.charAt(i)) runEnd++;
+            int len = runEnd - i;
+            i = runEnd;
+            if (len < span) continue;
+
+            if (best == null) best = new int[insert + 1];
+            for (int budget = insert; budget > 0; budget--) {
+                for (int x = 1; x <= budget; x++) {
+                    int saved = len / span - Math.max(len - x * maxRun, 0) / span;
+                    best[budget] = Math.max(best[budget], best[budget - x] + saved);
+                }
+            }
+        }
+        return best == null ? 0 : best[insert];
+    }
+
+    /**
+     * Maximum number of replacements saved by the given number of deletions.
+     * The first replacement of a run with len % (maxRun + 1) == r costs r + 1 deletions and every
+     * further one costs maxRun + 1, so taking the cheapest savings first is optimal.
+     */
+    private int deletionSavings(CharSequence pin, int delete) {
+        int span = maxRun + 1;
+        int[] buckets = new int[span];  // buckets[r] = number of runs with len % span == r
+        int replace = 0;
+
+        int i = 0, n = pin.length();
+        while (i < n) {
+            int runEnd = i + 1;
+            while (runEnd < n && pin.charAt(runEnd) == pin.charAt(i)) runEnd++;
+            int len = runEnd - i;
+            i = runEnd;
+            if (len >= span) {
+                buckets[len % span]++;
+                replace += len / span;
+            }
+        }
+
+        int saved = 0, remaining = delete;
+        for (int r = 0; r < span; r++) {
+            int used = Math.min(buckets[r], remaining / (r + 1));
+            saved += used;
+            remaining -= used * (r + 1);
+        }
+        return saved + Math.min(replace - saved, remaining / span);
+    }
+
+    public static void main(String[] args) {
+        // The default policy agrees with StrongPinChecker on ASCII PINs
+        for (String pin : new String[] {"X1!", "123456", "Aa1234!", "AAAAAAAAAAAAAAAAAAAAAAA", "aaabc"}) {
+            System.out.println(pin + ": " + DEFAULT.requiredChanges(pin) + " (StrongPinChecker: "
+                    + StrongPinChecker.strongPinChecker(pin) + ")");
+        }
+
+        // Stricter policy: 8-16 chars, special characters required, no run longer than 1
+        PinPolicy strict = of(8, 16, 1, range('a', 'z'), range('A', 'Z'), range('0', '9'), "!@#$%^&*");
+        System.out.println("Aa1!Aa1!: " + strict.requiredChanges("Aa1!Aa1!"));   // Output: 0
+        System.out.println("aabbcc11: " + strict.requiredChanges("aabbcc11"));   // Output: 4
+        System.out.println("Cached: " + (strict == of(8, 16, 1, range('a', 'z'), range('A', 'Z'),
+                range('0', '9'), "!@#$%^&*")));                                   // Output: true
+    }
+}
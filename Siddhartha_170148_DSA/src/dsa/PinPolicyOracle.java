@@ -0,0 +1,192 @@
+package dsa;
+import java.util.*;
+
+public class PinPolicyOracle {
+
+    /**
+     * Brute-force minimum number of insertions, deletions and replacements that make the PIN satisfy
+     * a policy, found by a 0-1 BFS over (PIN position, output length, class mask, last char, run length).
+     *
+     * Inserted or substituted characters are either one of the class characters (so one character can
+     * supply several overlapping classes at once) or a fresh character that belongs to no class and
+     * never extends a run. Keeping a PIN character costs 0; every edit costs 1. Nothing here relies on
+     * the counting rules of PinPolicy.requiredChanges.
+     *
+     * @param minLength Shortest allowed PIN.
+     * @param maxLength Longest allowed PIN.
+     * @param maxRun Longest allowed run of one repeated character.
+     * @param requiredClasses Character classes the PIN must each contain at least once.
+     * @param pin The PIN to evaluate.
+     * @return Minimum number of changes required to satisfy the policy.
+     */
+    public static int minChanges(int minLength, int maxLength, int maxRun, String[] requiredClasses, String pin) {
+        int n = pin.length();
+        int classCount = requiredClasses.length;
+        int full = (1 << classCount) - 1;
+
+        // Index every distinct PIN or class character as 1..d; index 0 means "fresh" (or no character yet)
+        Map<Character, Integer> charIndex = new HashMap<>();
+        for (int i = 0; i < n; i++) charIndex.computeIfAbsent(pin.charAt(i), key -> charIndex.size() + 1);
+        for (String chars : requiredClasses) {
+            for (int i = 0; i < chars.length(); i++) charIndex.computeIfAbsent(chars.charAt(i), key -> charIndex.size() + 1);
+        }
+        int chars = charIndex.size() + 1;
+        int[] charMask = new int[chars];
+        for (int cls = 0; cls < classCount; cls++) {
+            for (int i = 0; i < requiredClasses[cls].length(); i++) {
+                charMask[charIndex.get(requiredClasses[cls].charAt(i))] |= 1 << cls;
+            }
+        }
+        int[] pinChar = new int[n];
+        for (int i = 0; i < n; i++) pinChar[i] = charIndex.get(pin.charAt(i));
+
+        Space space = new Space(maxLength, full + 1, chars, maxRun + 1);
+        int[] dist = new int[(n + 1) * space.perPos];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+
+        int start = space.encode(0, 0, 0, 0, 0);
+        dist[start] = 0;
+        deque.add(start);
+
+        while (!deque.isEmpty()) {
+            int state = deque.pollFirst();
+            int d = dist[state];
+
+            // Decode the state
+            int run = state % space.runs;
+            int rest = state / space.runs;
+            int last = rest % chars;
+            rest /= chars;
+            int mask = rest % space.masks;
+            rest /= space.masks;
+            int len = rest % (maxLength + 1);
+            int pos = rest / (maxLength + 1);
+
+            if (pos == n && len >= minLength && mask == full) return d;
+
+            if (pos < n) {
+                // Keep the PIN character (cost 0)
+                space.relax(dist, deque, d, 0, pos + 1, len, mask, last, run, pinChar[pos], charMask[pinChar[pos]]);
+                // Delete it (cost 1)
+                space.relax(dist, deque, d, 1, pos + 1, len, mask, last, run, -1, 0);
+                // Replace it with any character (cost 1)
+                for (int c = 0; c < chars; c++) {
+                    space.relax(dist, deque, d, 1, pos + 1, len, mask, last, run, c, charMask[c]);
+                }
+            }
+            // Insert any character (cost 1)
+            for (int c = 0; c < chars; c++) {
+                space.relax(dist, deque, d, 1, pos, len, mask, last, run, c, charMask[c]);
+            }
+        }
+        throw new IllegalStateException("No valid PIN reachable from: " + pin);
+    }
+
+    /**
+     * Dimensions of the BFS state space below the PIN position.
+     */
+    private static class Space {
+        final int maxLength, masks, chars, runs, perPos;
+
+        Space(int maxLength, int masks, int chars, int runs) {
+            this.maxLength = maxLength;
+            this.masks = masks;
+            this.chars = chars;
+            this.runs = runs;
+            this.perPos = (maxLength + 1) * masks * chars * runs;
+        }
+
+        int encode(int pos, int len, int mask, int last, int run) {
+            return (((pos * (maxLength + 1) + len) * masks + mask) * chars + last) * runs + run;
+        }
+
+        /**
+         * Moves to the next state, optionally appending a character, if that improves its distance.
+         *
+         * @param appended Index of the appended character (0 = fresh), or -1 if nothing is appended.
+         */
+        void relax(int[] dist, ArrayDeque<Integer> deque, int d, int cost,
+                   int pos, int len, int mask, int last, int run, int appended, int appendedMask) {
+            if (appended >= 0) {
+                // Fresh characters never extend a run; equal known characters do
+                run = (appended != 0 && appended == last) ? run + 1 : 1;
+                if (run >= runs || len == maxLength) return;  // Run too long, or too long to ever be valid
+                last = appended;
+                mask |= appendedMask;
+                len++;
+            }
+
+            int next = encode(pos, len, mask, last, run);
+            if (d + cost < dist[next]) {
+                dist[next] = d + cost;
+                if (cost == 0) deque.addFirst(next);
+                else deque.addLast(next);
+            }
+        }
+    }
+
+    /**
+     * Checks PinPolicy against the oracle on random policies over a small alphabet, so classes
+     * often overlap and runs are common, then on the default policy for short PINs.
+     *
+     * Usage: java dsa.PinPolicyOracle [randomPolicies] [pinsPerPolicy]
+     */
+    public static void main(String[] args) {
+        int policies = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int pinsPerPolicy = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        // Step 1: Known overlapping-class cases where one character covers two classes
+        verify(1, 6, 2, new String[] {"abc", "cde"}, "");            // 1: insert a 'c'
+        verify(0, 6, 1, new String[] {"ab", "b"}, "1!");             // 1: replace with 'b'
+        verify(1, 3, 2, new String[] {"abc", "cde"}, "!!!!!!");      // 4: three deletions, one 'c'
+
+        // Step 2: Random policies whose classes are drawn from "abcde", so they overlap freely
+        Random random = new Random(42);
+        String alphabet = "abcde";
+        String pinAlphabet = "abcde!";
+        for (int p = 0; p < policies; p++) {
+            int classCount = random.nextInt(4);
+            String[] classes = new String[classCount];
+            for (int cls = 0; cls < classCount; cls++) {
+                StringBuilder chars = new StringBuilder();
+                for (int i = 0; i < alphabet.length(); i++) {
+                    if (random.nextInt(3) == 0) chars.append(alphabet.charAt(i));
+                }
+                if (chars.length() == 0) chars.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                classes[cls] = chars.toString();
+            }
+            int maxRun = 1 + random.nextInt(3);
+            int maxLength = Math.max(classCount, 1 + random.nextInt(7));
+            int minLength = random.nextInt(maxLength + 1);
+
+            for (int s = 0; s < pinsPerPolicy; s++) {
+                int length = random.nextInt(11);
+                StringBuilder pin = new StringBuilder();
+                while (pin.length() < length) {
+                    char c = pinAlphabet.charAt(random.nextInt(pinAlphabet.length()));
+                    int run = 1 + random.nextInt(4);
+                    for (int r = 0; r < run && pin.length() < length; r++) pin.append(c);
+                }
+                verify(minLength, maxLength, maxRun, classes, pin.toString());
+            }
+        }
+        System.out.println("Random: " + policies + " policies x " + pinsPerPolicy + " PINs OK");
+
+        // Step 3: The default policy on short PINs over mixed character types
+        for (String pin : new String[] {"", "a", "aaa", "aA1", "aaaAAA111", "1111111111", "Aa1!Aa1!Aa1!"}) {
+            verify(6, 20, 2, new String[] {PinPolicy.range('a', 'z'), PinPolicy.range('A', 'Z'),
+                    PinPolicy.range('0', '9')}, pin);
+        }
+        System.out.println("Default policy OK");
+    }
+
+    private static void verify(int minLength, int maxLength, int maxRun, String[] classes, String pin) {
+        int expected = minChanges(minLength, maxLength, maxRun, classes, pin);
+        int actual = PinPolicy.of(minLength, maxLength, maxRun, classes).requiredChanges(pin);
+        if (actual != expected) {
+            throw new AssertionError("Policy " + minLength + ".." + maxLength + " run " + maxRun + " "
+                    + Arrays.toString(classes) + ", PIN \"" + pin + "\": expected " + expected + " but got " + actual);
+        }
+    }
+}
@@ -1,10 +1,53 @@
 package dsa;
 import java.util.*;
 
+/**
+ * Offices joined by links of given strengths, answering whether a message can travel between two
+ * offices over links weaker than a limit.
+ *
+ * Until the first addLink, removeLink or updateStrength, queries climb a Kruskal forest that is only
+ * read, so any number of threads can query at once without locking. After an online update, queries
+ * go through a link-cut tree whose splaying writes even on reads, so they take its lock and
+ * concurrent readers serialize. applyAll runs a whole stream of updates and queries offline in
+ * polylogarithmic amortized time per operation and then rebuilds the lock-free Kruskal forest.
+ */
 public class SecureTransmission {
-    // Graph represented as adjacency list:
-    // Each node maps to a list of int arrays [neighborNode, signalStrength]
-    private Map<Integer, List<int[]>> graph;
+    // Operation codes for applyAll
+    public static final int ADD = 0;     // {ADD, officeA, officeB, strength}
+    public static final int REMOVE = 1;  // {REMOVE, id}
+    public static final int UPDATE = 2;  // {UPDATE, id, strength}
+    public static final int QUERY = 3;   // {QUERY, sender, receiver, maxStrength}
+
+    private final int n;            // Number of offices
+
+    // Links by id: ids 0..E-1 are the constructor's links in input order, addLink hands out the next ones
+    private int[] linkFrom = new int[16];
+    private int[] linkTo = new int[16];
+    private int[] linkStrength = new int[16];
+    private boolean[] linkAlive = new boolean[16];
+    private int linkCount = 0;
+
+    private int[] byStrength;       // Ids of live links sorted by increasing strength, null when stale
+
+    // Graph in compressed sparse row form: the links of office u are entries offsets[u] .. offsets[u+1]-1
+    // of targets / strengths, sorted by increasing strength. Rebuilt on demand after updates.
+    private int[] offsets;
+    private int[] targets;
+    private int[] strengths;
+
+    // Search scratch space, reused by every canTransmitBySearch call
+    private int[] queue;
+    private int[] visited;          // visited[u] == generation means u was reached in the current search
+    private int generation = 0;
+
+    // Spanning forest kept up to date under updates; null until the first addLink/removeLink/update
+    private DynamicForest dynamic;
+
+    // Kruskal forest: links merged by increasing strength with union by rank and no path compression,
+    // so every tree has height O(log n). attach[v] is the strength of the link whose merge hung v
+    // under kruskalParent[v]; it grows along every path to a root.
+    private int[] kruskalParent;
+    private int[] attach;
 
     /**
      * Constructor to initialize the network graph.
@@ -14,30 +57,227 @@ public class SecureTransmission {
      *              [officeA, officeB, signalStrength].
      */
     public SecureTransmission(int n, int[][] links) {
-        graph = new HashMap<>();
-        
-        // Initialize the adjacency list for each office/node
-        for (int i = 0; i < n; i++) {
-            graph.put(i, new ArrayList<>());
-        }
+        this.n = n;
+        int capacity = Math.max(16, links.length);
+        linkFrom = new int[capacity];
+        linkTo = new int[capacity];
+        linkStrength = new int[capacity];
+        linkAlive = new boolean[capacity];
 
-        // Populate the adjacency list with bidirectional edges (undirected graph)
-        // Each edge stores neighbor and the strength of the communication link
+        // Each link is kept once, as [officeA, officeB, signalStrength] by id
         for (int[] link : links) {
-            int u = link[0], v = link[1], strength = link[2];
-            
-            // Add edge u -> v
-            graph.get(u).add(new int[] { v, strength });
-            // Add edge v -> u (undirected)
-            graph.get(v).add(new int[] { u, strength });
+            storeLink(link[0], link[1], link[2]);
+        }
+
+        buildAdjacency();
+        buildKruskalForest();
+    }
+
+    /**
+     * Builds the compressed sparse row arrays from the live links. Placing the links in increasing
+     * strength order leaves every office's entries sorted by strength without a per-office sort.
+     *
+     * Time Complexity: O(n + E) after the shared strength sort
+     * Space Complexity: O(n + E) ints, with no per-edge objects
+     */
+    private void buildAdjacency() {
+        int[] sorted = sortedLinks();
+
+        // Step 1: Count the entries of each office, then turn the counts into start offsets
+        offsets = new int[n + 1];
+        for (int id : sorted) {
+            offsets[linkFrom[id] + 1]++;
+            offsets[linkTo[id] + 1]++;
+        }
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+        // Step 2: Fill both directions of every link, weakest links first
+        targets = new int[2 * sorted.length];
+        strengths = new int[2 * sorted.length];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int id : sorted) {
+            int u = linkFrom[id], v = linkTo[id], strength = linkStrength[id];
+            targets[cursor[u]] = v;
+            strengths[cursor[u]++] = strength;
+            targets[cursor[v]] = u;
+            strengths[cursor[v]++] = strength;
         }
     }
 
+    /**
+     * Merges the links by increasing strength into a union-by-rank forest, recording the strength at
+     * which each root was hung under another. Offices u and v are connected by links weaker than s
+     * exactly when their ancestors reached through attach values below s coincide.
+     *
+     * Time Complexity: O(E log E) for the sort, O(E log n) for the merges
+     * Space Complexity: O(n)
+     */
+    private void buildKruskalForest() {
+        kruskalParent = new int[n];
+        attach = new int[n];
+        byte[] rank = new byte[n];
+        for (int i = 0; i < n; i++) kruskalParent[i] = i;
+
+        for (int id : sortedLinks()) {
+            int a = kruskalRoot(linkFrom[id]), b = kruskalRoot(linkTo[id]);
+            if (a == b) continue;  // Already connected by weaker links
+            if (rank[a] < rank[b]) { int t = a; a = b; b = t; }
+            kruskalParent[b] = a;
+            attach[b] = linkStrength[id];
+            if (rank[a] == rank[b]) rank[a]++;
+        }
+    }
+
+    private int kruskalRoot(int v) {
+        while (kruskalParent[v] != v) v = kruskalParent[v];
+        return v;
+    }
+
+    /**
+     * @return Ids of the live links sorted by increasing strength (cached until the next update).
+     */
+    private int[] sortedLinks() {
+        if (byStrength == null) {
+            // Pack (strength, id) into one long so the sort runs on primitives
+            long[] keys = new long[linkCount];
+            int live = 0;
+            for (int id = 0; id < linkCount; id++) {
+                if (linkAlive[id]) keys[live++] = linkKey(id);
+            }
+            Arrays.sort(keys, 0, live);
+            byStrength = new int[live];
+            for (int i = 0; i < live; i++) byStrength[i] = (int) keys[i];
+        }
+        return byStrength;
+    }
+
+    /**
+     * @return Key ordering links by strength, then id; the low 32 bits hold the id.
+     */
+    private long linkKey(int id) {
+        return ((long) linkStrength[id] << 32) | id;
+    }
+
+    private int storeLink(int u, int v, int strength) {
+        if (linkCount == linkFrom.length) {
+            int capacity = linkCount * 2;
+            linkFrom = Arrays.copyOf(linkFrom, capacity);
+            linkTo = Arrays.copyOf(linkTo, capacity);
+            linkStrength = Arrays.copyOf(linkStrength, capacity);
+            linkAlive = Arrays.copyOf(linkAlive, capacity);
+        }
+        linkFrom[linkCount] = u;
+        linkTo[linkCount] = v;
+        linkStrength[linkCount] = strength;
+        linkAlive[linkCount] = true;
+        return linkCount++;
+    }
+
+    /**
+     * Adds a link between two offices.
+     * Updates are not thread-safe: they must not overlap any other call on this object.
+     *
+     * Time Complexity: O(log n) amortized
+     *
+     * @return Id of the new link, for removeLink and updateStrength.
+     */
+    public int addLink(int officeA, int officeB, int strength) {
+        checkOffice(officeA);
+        checkOffice(officeB);
+        DynamicForest forest = dynamicForest();
+        int id = storeLink(officeA, officeB, strength);
+        invalidate();
+        forest.insert(id);
+        return id;
+    }
+
+    /**
+     * Removes a link. Removing a link outside the spanning forest only touches incidence lists;
+     * removing a forest link also searches for a replacement (see DynamicForest.delete).
+     * Updates are not thread-safe: they must not overlap any other call on this object.
+     *
+     * Time Complexity: O(degree) for a link outside the spanning forest. For a forest link,
+     * O(log n) amortized plus the size of the smaller of the two halves it separates (offices and
+     * their links), so O(n + E) in the worst case, e.g. cutting the middle of a long chain.
+     * Streams of updates known in advance get a polylogarithmic bound through applyAll.
+     *
+     * @param id Id returned by addLink, or the index of a constructor link.
+     */
+    public void removeLink(int id) {
+        checkLink(id);
+        DynamicForest forest = dynamicForest();
+        forest.delete(id);
+        linkAlive[id] = false;
+        invalidate();
+    }
+
+    /**
+     * Changes the strength of a link, as a removal followed by a re-insertion under the same id.
+     * Updates are not thread-safe: they must not overlap any other call on this object.
+     *
+     * Time Complexity: same as removeLink followed by addLink, so O(n + E) in the worst case
+     */
+    public void updateStrength(int id, int strength) {
+        checkLink(id);
+        DynamicForest forest = dynamicForest();
+        forest.delete(id);
+        linkStrength[id] = strength;
+        invalidate();
+        forest.insert(id);
+    }
+
+    /**
+     * Drops the sorted link order and the CSR arrays; they are rebuilt the next time they are needed.
+     */
+    private void invalidate() {
+        byStrength = null;
+        offsets = null;
+        targets = null;
+        strengths = null;
+    }
+
+    private void checkOffice(int office) {
+        if (office < 0 || office >= n) {
+            throw new IllegalArgumentException("No such office: " + office);
+        }
+    }
+
+    private void checkLink(int id) {
+        if (id < 0 || id >= linkCount || !linkAlive[id]) {
+            throw new IllegalArgumentException("No such link: " + id);
+        }
+    }
+
+    /**
+     * The Kruskal forest cannot absorb updates, so the first update builds the dynamic forest from
+     * the current links (in strength order, so each insert is a plain link or a non-forest link)
+     * and every later query goes through it.
+     */
+    private DynamicForest dynamicForest() {
+        if (dynamic == null) {
+            dynamic = new DynamicForest();
+            for (int id : sortedLinks()) dynamic.insert(id);
+            kruskalParent = null;
+            attach = null;
+        }
+        return dynamic;
+    }
+
     /**
      * Checks if a message can be securely transmitted from sender to receiver.
      * The transmission must follow a path where every link's strength is strictly
      * less than maxStrength.
-     * 
+     *
+     * Walks both offices up the Kruskal forest, following only hangings made by links weaker than
+     * maxStrength, and compares where they stop. No graph traversal is needed.
+     *
+     * Once links have been added, removed or updated, the query is a path maximum on the dynamic
+     * spanning forest instead. Splaying rearranges the link-cut tree even for a query, so these
+     * queries take the forest's lock: they are safe to run concurrently with each other, but they
+     * serialize. Updates still must not overlap queries.
+     *
+     * Time Complexity: O(log n), amortized once links have been updated
+     *
      * @param sender      The starting office/node.
      * @param receiver    The target office/node.
      * @param maxStrength Maximum allowed signal strength on any communication link
@@ -45,48 +285,714 @@ public class SecureTransmission {
      * @return True if such a path exists; false otherwise.
      */
     public boolean canTransmit(int sender, int receiver, int maxStrength) {
-        // Keep track of visited offices to avoid infinite loops and redundant checks
-        Set<Integer> visited = new HashSet<>();
-        
-        // Start Depth-First Search from sender
-        return dfs(sender, receiver, maxStrength, visited);
+        if (sender == receiver) return true;
+        if (dynamic != null) return dynamicBottleneck(sender, receiver) < maxStrength;
+        return climb(sender, maxStrength) == climb(receiver, maxStrength);
     }
 
     /**
-     * Depth-First Search helper method to explore possible paths under constraints.
-     * 
-     * @param current     Current office/node being explored.
-     * @param target      Target office/node to reach.
-     * @param maxStrength Maximum allowed signal strength.
-     * @param visited     Set of offices already visited during this path exploration.
-     * @return True if target is reachable via allowed edges; false otherwise.
-     */
-    private boolean dfs(int current, int target, int maxStrength, Set<Integer> visited) {
-        // If current office is the target, path found
-        if (current == target) return true;
-
-        // Mark the current node as visited
-        visited.add(current);
-
-        // Explore neighbors connected by edges with strength less than maxStrength
-        for (int[] neighbor : graph.get(current)) {
-            int next = neighbor[0];       // Neighboring office
-            int strength = neighbor[1];   // Signal strength of the link
-
-            // Proceed only if link meets the strength condition and neighbor not visited yet
-            if (strength < maxStrength && !visited.contains(next)) {
-                // Recursive DFS call to explore from the neighbor
-                if (dfs(next, target, maxStrength, visited)) {
-                    // If a path to target is found, propagate true back up the recursion stack
-                    return true;
-                }
+     * @return Highest ancestor of v reachable through hangings made by links weaker than limit.
+     */
+    private int climb(int v, int limit) {
+        while (kruskalParent[v] != v && attach[v] < limit) v = kruskalParent[v];
+        return v;
+    }
+
+    /**
+     * Smallest possible strength of the strongest link on a path from sender to receiver,
+     * so canTransmit(sender, receiver, s) holds exactly for s > minBottleneck(sender, receiver).
+     *
+     * The two offices climb the Kruskal forest together, always moving the one hung by the weaker
+     * link, until they meet; the last strength climbed is the bottleneck.
+     *
+     * After updates this is a query on the dynamic forest, with the same locking as canTransmit.
+     *
+     * Time Complexity: O(log n), amortized once links have been updated
+     *
+     * @return The bottleneck strength, Integer.MIN_VALUE if sender == receiver (no link needed),
+     *         or Integer.MAX_VALUE if the offices are not connected at all.
+     */
+    public int minBottleneck(int sender, int receiver) {
+        if (sender == receiver) return Integer.MIN_VALUE;
+        if (dynamic != null) return dynamicBottleneck(sender, receiver);
+
+        int u = sender, v = receiver;
+        int bottleneck = Integer.MIN_VALUE;
+        while (u != v) {
+            boolean uRoot = kruskalParent[u] == u, vRoot = kruskalParent[v] == v;
+            if (uRoot && vRoot) return Integer.MAX_VALUE;  // Different trees
+            if (vRoot || !uRoot && attach[u] <= attach[v]) {
+                bottleneck = attach[u];
+                u = kruskalParent[u];
+            } else {
+                bottleneck = attach[v];
+                v = kruskalParent[v];
             }
         }
+        return bottleneck;
+    }
+
+    /**
+     * Bottleneck query on the dynamic forest, holding its lock because splaying writes to the tree.
+     */
+    private int dynamicBottleneck(int sender, int receiver) {
+        synchronized (dynamic) {
+            return dynamic.bottleneck(sender, receiver);
+        }
+    }
+
+    /**
+     * Reference version of canTransmit: breadth-first search over the CSR arrays.
+     *
+     * The search is iterative (no stack overflow on long chains), reuses one int[] queue, and marks
+     * offices with a generation number instead of clearing a visited set. Because each office's links
+     * are sorted by strength, the scan of an office stops at its first link at or above maxStrength.
+     * Not thread-safe, since the scratch arrays are shared.
+     *
+     * Time Complexity: O(V + E) per query in the worst case
+     *
+     * @return True if a path of links weaker than maxStrength connects the offices.
+     */
+    public boolean canTransmitBySearch(int sender, int receiver, int maxStrength) {
+        if (sender == receiver) return true;
+        if (offsets == null) buildAdjacency();
+        if (queue == null) {
+            queue = new int[n];
+            visited = new int[n];
+        }
+        if (++generation == 0) {
+            // The counter wrapped around: old marks could collide with the new generation
+            Arrays.fill(visited, 0);
+            generation = 1;
+        }
 
-        // No valid path found from this branch
+        int head = 0, tail = 0;
+        queue[tail++] = sender;
+        visited[sender] = generation;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                if (strengths[e] >= maxStrength) break;  // Every later link of this office is stronger
+                int next = targets[e];
+                if (visited[next] == generation) continue;
+                if (next == receiver) return true;
+                visited[next] = generation;
+                queue[tail++] = next;
+            }
+        }
         return false;
     }
 
+    /**
+     * Answers many queries at once, offline.
+     *
+     * Queries are processed by increasing maxStrength while links are merged into a union-find
+     * structure by increasing strength, so before each query exactly the links with strength below
+     * its limit have been added. Two offices can then communicate iff they share a root.
+     *
+     * Time Complexity: O(E log E + Q log Q + (E + Q) * alpha(n))
+     * Space Complexity: O(n + Q)
+     *
+     * @param queries Each query is [sender, receiver, maxStrength].
+     * @return Answer for each query, in the same order as the input.
+     */
+    public boolean[] canTransmitAll(int[][] queries) {
+        // Step 1: Visit queries by increasing limit, remembering their original positions
+        // Pack (limit, position) into one long like sortedLinks: the signed limit fills the high
+        // 32 bits, so negative limits still sort first, and the non-negative position sits below it
+        long[] keys = new long[queries.length];
+        for (int i = 0; i < keys.length; i++) keys[i] = ((long) queries[i][2] << 32) | (i & 0xffffffffL);
+        Arrays.sort(keys);
+
+        // Step 2: Sweep links and queries together
+        int[] byStrength = sortedLinks();
+        UnionFind uf = new UnionFind(n);
+        boolean[] answers = new boolean[queries.length];
+        int next = 0;  // Next link to merge
+        for (long key : keys) {
+            int q = (int) key;  // Low 32 bits hold the position
+            int[] query = queries[q];
+            while (next < byStrength.length && linkStrength[byStrength[next]] < query[2]) {
+                uf.union(linkFrom[byStrength[next]], linkTo[byStrength[next]]);
+                next++;
+            }
+            answers[q] = uf.find(query[0]) == uf.find(query[1]);
+        }
+        return answers;
+    }
+
+    /**
+     * Applies a batch of mixed updates and queries offline, answering each query as if the operations
+     * had run one at a time, and leaves the network in its final state.
+     *
+     * Each version of a link, from its addition or strength change until its removal or next change,
+     * is live for a contiguous range of queries, so it is stored in the O(log Q) nodes of a segment
+     * tree over the queries that cover that range. A depth-first walk of the segment tree inserts each
+     * node's links into a minimum spanning forest and undoes them on the way back up. At a leaf the
+     * forest spans exactly the links live at that query, and its path maximum is the bottleneck.
+     *
+     * Time Complexity: O(((E + U) log Q + Q) log n) amortized for E current links, U updates and
+     *                  Q queries, plus O(E log E) to rebuild the Kruskal forest for the final state
+     * Space Complexity: O((E + U) log Q + n)
+     *
+     * @param operations Each operation is {ADD, officeA, officeB, strength}, {REMOVE, id},
+     *                   {UPDATE, id, strength} or {QUERY, sender, receiver, maxStrength}. Links added
+     *                   by the batch get the ids addLink would have handed out, in order.
+     * @return Answer for each QUERY, in the order the queries appear.
+     * @throws IllegalArgumentException if an operation is malformed or names a missing office or
+     *                                  link; the network is then left unchanged.
+     */
+    public boolean[] applyAll(int[][] operations) {
+        // Step 1: Validate the whole batch first, replaying which links are alive
+        boolean[] alive = Arrays.copyOf(linkAlive, linkCount + operations.length);
+        int nextId = linkCount, queries = 0, versions = 0;
+        for (int id = 0; id < linkCount; id++) if (alive[id]) versions++;
+        for (int[] op : operations) {
+            int code = op.length == 0 ? -1 : op[0];
+            if (code == ADD && op.length == 4) {
+                checkOffice(op[1]);
+                checkOffice(op[2]);
+                alive[nextId++] = true;
+                versions++;
+            } else if ((code == REMOVE && op.length == 2) || (code == UPDATE && op.length == 3)) {
+                if (op[1] < 0 || op[1] >= nextId || !alive[op[1]]) {
+                    throw new IllegalArgumentException("No such link: " + op[1]);
+                }
+                if (code == REMOVE) alive[op[1]] = false;
+                else versions++;
+            } else if (code == QUERY && op.length == 4) {
+                checkOffice(op[1]);
+                checkOffice(op[2]);
+                queries++;
+            } else {
+                throw new IllegalArgumentException("Malformed operation: " + Arrays.toString(op));
+            }
+        }
+
+        // Step 2: Apply the batch to the links, cutting it into link versions and queries
+        OfflineSweep sweep = new OfflineSweep(queries, versions);
+        int[] current = new int[nextId];  // Open version of each live link
+        for (int id = 0; id < linkCount; id++) {
+            if (linkAlive[id]) current[id] = sweep.open(linkFrom[id], linkTo[id], linkStrength[id]);
+        }
+        for (int[] op : operations) {
+            if (op[0] == ADD) {
+                int id = storeLink(op[1], op[2], op[3]);
+                current[id] = sweep.open(op[1], op[2], op[3]);
+            } else if (op[0] == REMOVE) {
+                linkAlive[op[1]] = false;
+                sweep.close(current[op[1]]);
+            } else if (op[0] == UPDATE) {
+                linkStrength[op[1]] = op[2];
+                sweep.close(current[op[1]]);
+                current[op[1]] = sweep.open(linkFrom[op[1]], linkTo[op[1]], op[2]);
+            } else {
+                sweep.query(op[1], op[2], op[3]);
+            }
+        }
+        for (int id = 0; id < linkCount; id++) {
+            if (linkAlive[id]) sweep.close(current[id]);
+        }
+
+        // Step 3: Answer the queries, then rebuild the lock-free Kruskal forest for the final state
+        boolean[] answers = sweep.run();
+        invalidate();
+        dynamic = null;
+        buildKruskalForest();
+        return answers;
+    }
+
+    /**
+     * Segment tree over query positions whose nodes hold the link versions live throughout their
+     * range, walked with a minimum spanning forest on a link-cut tree that undoes each node's
+     * insertions on the way back up.
+     */
+    private class OfflineSweep {
+        private final LinkCutTree tree = new LinkCutTree();
+
+        // Link versions; version x is node n + x of the link-cut tree
+        private final int[] from, to, strength, start;
+        private int versions = 0;
+
+        // Queries in batch order
+        private final int[] sender, receiver, limit;
+        private int queries = 0;
+        private final boolean[] answers;
+
+        // Versions stored at each segment tree node, as singly linked lists in flat arrays
+        private final int[] head;
+        private int[] next = new int[16];
+        private int[] entry = new int[16];
+        private int entries = 0;
+
+        // Undo log: pairs (version linked, version it pushed out of the forest or -1)
+        private int[] undo = new int[16];
+        private int undoSize = 0;
+
+        OfflineSweep(int queryCount, int versionCount) {
+            from = new int[versionCount];
+            to = new int[versionCount];
+            strength = new int[versionCount];
+            start = new int[versionCount];
+            sender = new int[queryCount];
+            receiver = new int[queryCount];
+            limit = new int[queryCount];
+            answers = new boolean[queryCount];
+            head = new int[Math.max(1, 4 * queryCount)];
+            Arrays.fill(head, -1);
+        }
+
+        /**
+         * Starts a link version, live from the next query on.
+         */
+        int open(int u, int v, int s) {
+            from[versions] = u;
+            to[versions] = v;
+            strength[versions] = s;
+            start[versions] = queries;
+            return versions++;
+        }
+
+        /**
+         * Ends a link version before the next query, storing it if some query saw it.
+         */
+        void close(int version) {
+            if (start[version] < queries && from[version] != to[version]) {
+                store(1, 0, sender.length, start[version], queries, version);
+            }
+        }
+
+        void query(int u, int v, int maxStrength) {
+            sender[queries] = u;
+            receiver[queries] = v;
+            limit[queries++] = maxStrength;
+        }
+
+        /**
+         * Adds the version to the segment tree nodes that together cover queries [lo, hi).
+         */
+        private void store(int node, int nodeLo, int nodeHi, int lo, int hi, int version) {
+            if (lo <= nodeLo && nodeHi <= hi) {
+                if (entries == entry.length) {
+                    next = Arrays.copyOf(next, entries * 2);
+                    entry = Arrays.copyOf(entry, entries * 2);
+                }
+                entry[entries] = version;
+                next[entries] = head[node];
+                head[node] = entries++;
+                return;
+            }
+            int mid = (nodeLo + nodeHi) >>> 1;
+            if (lo < mid) store(2 * node, nodeLo, mid, lo, hi, version);
+            if (hi > mid) store(2 * node + 1, mid, nodeHi, lo, hi, version);
+        }
+
+        boolean[] run() {
+            if (queries > 0) walk(1, 0, queries);
+            return answers;
+        }
+
+        /**
+         * Inserts the node's versions, answers or recurses, then rolls the forest back.
+         */
+        private void walk(int node, int lo, int hi) {
+            int mark = undoSize;
+            for (int e = head[node]; e != -1; e = next[e]) insert(entry[e]);
+
+            if (hi - lo == 1) {
+                int u = sender[lo], v = receiver[lo];
+                answers[lo] = u == v || (tree.findRoot(u) == tree.findRoot(v)
+                        && tree.value(tree.pathMax(u, v)) < limit[lo]);
+            } else {
+                int mid = (lo + hi) >>> 1;
+                walk(2 * node, lo, mid);
+                walk(2 * node + 1, mid, hi);
+            }
+
+            while (undoSize > mark) {
+                int pushedOut = undo[--undoSize], version = undo[--undoSize];
+                cut(version);
+                if (pushedOut != -1) join(pushedOut);
+            }
+        }
+
+        /**
+         * Same rule as DynamicForest.insert: join two trees, or replace the strongest link on the
+         * cycle when the new version is weaker.
+         */
+        private void insert(int version) {
+            int u = from[version], v = to[version];
+            tree.reset(n + version, strength[version]);  // Isolated: earlier insertions were undone
+            int pushedOut = -1;
+            if (tree.findRoot(u) == tree.findRoot(v)) {
+                int strongest = tree.pathMax(u, v);
+                if (tree.value(strongest) <= strength[version]) return;
+                pushedOut = strongest - n;
+                cut(pushedOut);
+            }
+            join(version);
+            if (undoSize + 2 > undo.length) undo = Arrays.copyOf(undo, undo.length * 2);
+            undo[undoSize++] = version;
+            undo[undoSize++] = pushedOut;
+        }
+
+        private void join(int version) {
+            tree.link(from[version], n + version);
+            tree.link(n + version, to[version]);
+        }
+
+        private void cut(int version) {
+            tree.cut(from[version], n + version);
+            tree.cut(n + version, to[version]);
+        }
+    }
+
+    /**
+     * Disjoint-set forest with path compression and union by rank.
+     */
+    private static class UnionFind {
+        private final int[] parent;
+        private final byte[] rank;  // Rank stays below log2(n) + 1, so a byte is enough
+
+        UnionFind(int n) {
+            parent = new int[n];
+            rank = new byte[n];
+            for (int i = 0; i < n; i++) parent[i] = i;
+        }
+
+        int find(int x) {
+            // Find the root, then point every node on the path straight at it (iterative, no recursion)
+            int root = x;
+            while (parent[root] != root) root = parent[root];
+            while (parent[x] != root) {
+                int up = parent[x];
+                parent[x] = root;
+                x = up;
+            }
+            return root;
+        }
+
+        void union(int a, int b) {
+            int ra = find(a), rb = find(b);
+            if (ra == rb) return;
+            // Attach the shallower tree under the deeper one
+            if (rank[ra] < rank[rb]) {
+                parent[ra] = rb;
+            } else if (rank[ra] > rank[rb]) {
+                parent[rb] = ra;
+            } else {
+                parent[rb] = ra;
+                rank[ra]++;
+            }
+        }
+    }
+
+    /**
+     * Minimum spanning forest of the live links, stored in a link-cut tree.
+     *
+     * Every link is a tree node of its own (id n + link) sitting between its two offices, so the
+     * strongest link on a forest path is a path-maximum query. In a minimum spanning forest that
+     * maximum is exactly the bottleneck between the two offices.
+     * - insert: link two forests, or swap out the strongest link on the cycle it closes if the new
+     *   link is weaker; O(log n) amortized.
+     * - delete of a non-forest link: O(degree), only the incidence lists change.
+     * - delete of a forest link: cut it, explore both halves over forest links in lockstep until one
+     *   is exhausted, and reconnect with the weakest link leaving that (smaller) half. The cost is
+     *   proportional to the smaller half and its links, which is small for the typical cut near the
+     *   edge of a tree but O(n + E) for a cut in the middle of a long path; a worst-case
+     *   polylogarithmic bound would need a level structure on top.
+     * - bottleneck: O(log n) amortized, but it splays, so callers must hold the forest's lock.
+     */
+    private class DynamicForest {
+        private final LinkCutTree tree = new LinkCutTree();
+        private boolean[] inForest = new boolean[16];
+
+        // Live links incident to each office
+        private final int[][] incident = new int[n][];
+        private final int[] degree = new int[n];
+
+        // Lockstep search state, reused across deletions
+        private final int[] mark = new int[n];  // stamp = left half, stamp + 1 = right half
+        private int stamp = 0;
+        private final int[] queueA = new int[n];
+        private final int[] queueB = new int[n];
+        private final int[] sizes = new int[2];   // Offices queued in each half
+        private final int[] heads = new int[2];   // Offices expanded in each half
+
+        void insert(int id) {
+            if (id >= inForest.length) inForest = Arrays.copyOf(inForest, Math.max(id + 1, inForest.length * 2));
+            int u = linkFrom[id], v = linkTo[id], node = n + id;
+            tree.reset(node, linkStrength[id]);
+            addIncident(u, id);
+            if (u == v) return;  // A self-loop never joins the forest
+            addIncident(v, id);
+
+            if (tree.findRoot(u) == tree.findRoot(v)) {
+                // The link closes a cycle: keep the weaker of it and the strongest link on the path
+                int strongest = tree.pathMax(u, v);
+                if (tree.value(strongest) <= linkStrength[id]) return;
+                cut(strongest - n);
+            }
+            join(id);
+        }
+
+        void delete(int id) {
+            int u = linkFrom[id], v = linkTo[id];
+            removeIncident(u, id);
+            if (u != v) removeIncident(v, id);
+            if (!inForest[id]) return;
+            cut(id);
+
+            // Step 1: Explore both halves one office at a time until one of them runs out
+            if (stamp > Integer.MAX_VALUE - 2) {
+                Arrays.fill(mark, 0);
+                stamp = 0;
+            }
+            stamp += 2;
+            sizes[0] = sizes[1] = 0;
+            heads[0] = heads[1] = 0;
+            queueA[sizes[0]++] = u;
+            mark[u] = stamp;
+            queueB[sizes[1]++] = v;
+            mark[v] = stamp + 1;
+            int done;
+            while (true) {
+                if (heads[0] == sizes[0]) { done = 0; break; }
+                expand(queueA, 0);
+                if (heads[1] == sizes[1]) { done = 1; break; }
+                expand(queueB, 1);
+            }
+
+            // Step 2: The weakest link leaving the finished half reconnects the forest
+            int[] queue = done == 0 ? queueA : queueB;
+            int side = stamp + done;
+            int best = -1;
+            for (int i = 0; i < sizes[done]; i++) {
+                int office = queue[i];
+                for (int k = 0; k < degree[office]; k++) {
+                    int link = incident[office][k];
+                    int other = linkFrom[link] == office ? linkTo[link] : linkFrom[link];
+                    if (mark[other] == side) continue;  // Both ends in this half
+                    if (best == -1 || linkKey(link) < linkKey(best)) best = link;
+                }
+            }
+            if (best != -1) join(best);
+        }
+
+        /**
+         * Expands the next office of one half, queueing its unvisited forest neighbours.
+         */
+        private void expand(int[] queue, int half) {
+            int office = queue[heads[half]++];
+            for (int k = 0; k < degree[office]; k++) {
+                int link = incident[office][k];
+                if (!inForest[link]) continue;
+                int other = linkFrom[link] == office ? linkTo[link] : linkFrom[link];
+                if (mark[other] == stamp + half) continue;
+                mark[other] = stamp + half;
+                queue[sizes[half]++] = other;
+            }
+        }
+
+        /**
+         * @return Strongest link on the forest path, or Integer.MAX_VALUE if there is none.
+         */
+        int bottleneck(int u, int v) {
+            if (tree.findRoot(u) != tree.findRoot(v)) return Integer.MAX_VALUE;
+            return tree.value(tree.pathMax(u, v));
+        }
+
+        private void addIncident(int office, int id) {
+            if (incident[office] == null) incident[office] = new int[4];
+            if (degree[office] == incident[office].length) {
+                incident[office] = Arrays.copyOf(incident[office], degree[office] * 2);
+            }
+            incident[office][degree[office]++] = id;
+        }
+
+        private void removeIncident(int office, int id) {
+            int[] list = incident[office];
+            for (int k = 0; k < degree[office]; k++) {
+                if (list[k] == id) {
+                    list[k] = list[--degree[office]];  // Order does not matter
+                    return;
+                }
+            }
+        }
+
+        private void join(int id) {
+            tree.link(linkFrom[id], n + id);
+            tree.link(n + id, linkTo[id]);
+            inForest[id] = true;
+        }
+
+        private void cut(int id) {
+            tree.cut(linkFrom[id], n + id);
+            tree.cut(n + id, linkTo[id]);
+            inForest[id] = false;
+        }
+    }
+
+    /**
+     * Link-cut tree over offices (value Integer.MIN_VALUE) and link nodes (value = strength),
+     * with splay trees in flat arrays. top[x] is the node of largest value in x's splay subtree.
+     */
+    private class LinkCutTree {
+        private int[] left, right, parent, value, top;
+        private boolean[] flip;      // Children of x still have to be swapped (lazy path reversal)
+        private int[] stack = new int[16];
+
+        LinkCutTree() {
+            int capacity = n + 16;
+            left = new int[capacity];
+            right = new int[capacity];
+            parent = new int[capacity];
+            value = new int[capacity];
+            top = new int[capacity];
+            flip = new boolean[capacity];
+            for (int x = 0; x < capacity; x++) reset(x, Integer.MIN_VALUE);
+        }
+
+        /**
+         * Makes x an isolated node with the given value, growing the arrays if needed.
+         */
+        void reset(int x, int v) {
+            if (x >= left.length) {
+                int capacity = Math.max(x + 1, left.length * 2);
+                int old = left.length;
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+                value = Arrays.copyOf(value, capacity);
+                top = Arrays.copyOf(top, capacity);
+                flip = Arrays.copyOf(flip, capacity);
+                for (int y = old; y < capacity; y++) reset(y, Integer.MIN_VALUE);
+            }
+            left[x] = right[x] = parent[x] = -1;
+            value[x] = v;
+            top[x] = x;
+            flip[x] = false;
+        }
+
+        int value(int x) {
+            return value[x];
+        }
+
+        void link(int x, int y) {
+            makeRoot(x);
+            parent[x] = y;
+        }
+
+        void cut(int x, int y) {
+            makeRoot(x);
+            access(y);
+            // x is now y's left child: the path is exactly x - y
+            left[y] = -1;
+            parent[x] = -1;
+            pull(y);
+        }
+
+        int findRoot(int x) {
+            access(x);
+            while (true) {
+                push(x);
+                if (left[x] == -1) break;
+                x = left[x];
+            }
+            splay(x);
+            return x;
+        }
+
+        /**
+         * @return Node of largest value on the path between x and y (which must be connected).
+         */
+        int pathMax(int x, int y) {
+            makeRoot(x);
+            access(y);
+            return top[y];
+        }
+
+        private void makeRoot(int x) {
+            access(x);
+            flip[x] ^= true;
+        }
+
+        /**
+         * Makes the root-to-x path preferred and splays x to the top of its splay tree.
+         */
+        private void access(int x) {
+            for (int last = -1, y = x; y != -1; last = y, y = parent[y]) {
+                splay(y);
+                right[y] = last;
+                pull(y);
+            }
+            splay(x);
+        }
+
+        private boolean isSplayRoot(int x) {
+            int p = parent[x];
+            return p == -1 || (left[p] != x && right[p] != x);
+        }
+
+        private void pull(int x) {
+            int best = x;
+            if (left[x] != -1 && value[top[left[x]]] > value[best]) best = top[left[x]];
+            if (right[x] != -1 && value[top[right[x]]] > value[best]) best = top[right[x]];
+            top[x] = best;
+        }
+
+        private void push(int x) {
+            if (!flip[x]) return;
+            int t = left[x];
+            left[x] = right[x];
+            right[x] = t;
+            if (left[x] != -1) flip[left[x]] ^= true;
+            if (right[x] != -1) flip[right[x]] ^= true;
+            flip[x] = false;
+        }
+
+        private void rotate(int x) {
+            int y = parent[x], z = parent[y];
+            if (!isSplayRoot(y)) {
+                if (left[z] == y) left[z] = x;
+                else right[z] = x;
+            }
+            parent[x] = z;
+            if (left[y] == x) {
+                left[y] = right[x];
+                if (right[x] != -1) parent[right[x]] = y;
+                right[x] = y;
+            } else {
+                right[y] = left[x];
+                if (left[x] != -1) parent[left[x]] = y;
+                left[x] = y;
+            }
+            parent[y] = x;
+            pull(y);
+            pull(x);
+        }
+
+        private void splay(int x) {
+            // Push pending reversals from the splay root down to x (explicit stack, no recursion)
+            int size = 0;
+            for (int y = x; ; y = parent[y]) {
+                if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+                stack[size++] = y;
+                if (isSplayRoot(y)) break;
+            }
+            while (size > 0) push(stack[--size]);
+
+            while (!isSplayRoot(x)) {
+                int y = parent[x];
+                if (!isSplayRoot(y)) {
+                    int z = parent[y];
+                    rotate((left[y] == x) == (left[z] == y) ? y : x);
+                }
+                rotate(x);
+            }
+        }
+    }
+
     /**
      * Main method for testing the SecureTransmission class functionality.
      */
@@ -115,5 +1021,33 @@ public class SecureTransmission {
 
         System.out.println(st.canTransmit(0, 5, 6)); // false
         // Explanation: Offices 0 and 5 are in disconnected subgraphs; no path exists
+
+        // The same four queries answered together by the offline union-find sweep
+        int[][] queries = {{2, 3, 2}, {1, 3, 3}, {2, 0, 3}, {0, 5, 6}};
+        System.out.println(Arrays.toString(st.canTransmitAll(queries))); // [true, false, true, false]
+
+        // Weakest possible strongest link between two offices
+        System.out.println(st.minBottleneck(1, 0)); // 3 (path 1 -> 2 -> 3 -> 0 uses strengths 3, 1, 2)
+        System.out.println(st.minBottleneck(4, 5)); // 5
+
+        // Live updates: bridge the two components with a strong link, weaken it, then drop a link
+        int bridge = st.addLink(3, 4, 7);
+        System.out.println(st.canTransmit(0, 5, 8)); // true (0 -> 3 -> 4 -> 5 uses 2, 7, 5)
+        st.updateStrength(bridge, 2);
+        System.out.println(st.minBottleneck(0, 5));  // 5
+        st.removeLink(1);                            // Drop 2 -> 3 (strength 1)
+        System.out.println(st.minBottleneck(2, 0));  // 4 (only the direct 0 -> 2 link is left)
+
+        // A stream of updates and queries answered offline in one batch; the added link gets id 6
+        boolean[] answers = st.applyAll(new int[][] {
+            {ADD, 1, 5, 1},    // Direct 1 -> 5 link
+            {QUERY, 1, 5, 2},  // true (the direct link has strength 1)
+            {REMOVE, 6},
+            {QUERY, 1, 5, 5},  // false (1 -> 2 -> 0 -> 3 -> 4 -> 5 needs the 4 -> 5 link of strength 5)
+            {UPDATE, 3, 4},    // Weaken 4 -> 5 to strength 4
+            {QUERY, 1, 5, 5}   // true
+        });
+        System.out.println(Arrays.toString(answers)); // [true, false, true]
+        System.out.println(st.canTransmit(1, 5, 5)); // true (the batch's final state is kept)
     }
 }
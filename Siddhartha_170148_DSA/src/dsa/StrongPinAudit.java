@@ -0,0 +1,147 @@
+package dsa;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.stream.IntStream;
+
+public class StrongPinAudit {
+
+    // Target number of chunks per worker thread, so uneven chunks still balance across the pool
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    // Chunks smaller than this are not worth handing to another thread
+    private static final int MIN_CHUNK_BYTES = 1 << 16;
+
+    /**
+     * Computes the required-change count for every PIN in a buffer of newline-delimited ASCII PINs.
+     *
+     * The buffer is split into chunks at line boundaries and processed in two parallel passes:
+     * the first counts lines per chunk to find each chunk's output offset, the second evaluates
+     * every PIN in place with StrongPinChecker's allocation-free core. No per-PIN objects are created.
+     * A trailing "\r" before each "\n" is ignored, and a final newline does not add an empty PIN.
+     *
+     * Only the remaining bytes, from pins.position() to pins.limit(), are read; the buffer's
+     * position and limit are left unchanged.
+     *
+     * @param buffer Buffer of newline-delimited PINs, e.g. a memory-mapped file.
+     * @return Required-change count for each PIN, in input order.
+     */
+    public static int[] checkAll(ByteBuffer buffer) {
+        // Index the remaining bytes from 0, whatever has already been consumed before position()
+        ByteBuffer pins = buffer.slice();
+        int length = pins.limit();
+
+        // Step 1: Choose chunk boundaries, moving each one just past the next newline
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunks = Math.max(1, Math.min(threads * CHUNKS_PER_THREAD, length / MIN_CHUNK_BYTES));
+        int[] bounds = new int[chunks + 1];
+        for (int c = 1; c < chunks; c++) {
+            int pos = Math.max(bounds[c - 1], (int) ((long) length * c / chunks));
+            while (pos < length && pins.get(pos) != '\n') pos++;
+            bounds[c] = Math.min(pos + 1, length);
+        }
+        bounds[chunks] = length;
+
+        // Step 2: Count the PINs in each chunk, then turn the counts into output offsets
+        int[] offsets = new int[chunks + 1];
+        IntStream.range(0, chunks).parallel()
+                 .forEach(c -> offsets[c + 1] = countLines(pins, bounds[c], bounds[c + 1]));
+        for (int c = 0; c < chunks; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        // Step 3: Evaluate every PIN, each chunk writing its own slice of the result array
+        int[] results = new int[offsets[chunks]];
+        IntStream.range(0, chunks).parallel()
+                 .forEach(c -> checkChunk(pins, bounds[c], bounds[c + 1], results, offsets[c]));
+        return results;
+    }
+
+    /**
+     * Memory-maps a PIN file and computes the required-change count for every PIN.
+     *
+     * @param input File of newline-delimited ASCII PINs (at most 2 GB, the limit of one mapping).
+     * @return Required-change count for each PIN, in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    public static int[] checkFile(Path input) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("PIN file larger than 2 GB: " + input);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return checkAll(mapped);
+        }
+    }
+
+    /**
+     * Audits a PIN file and writes one required-change count per line to the output file.
+     *
+     * @param input File of newline-delimited ASCII PINs.
+     * @param output File that receives the counts, in input order.
+     * @throws IOException If either file cannot be accessed.
+     */
+    public static void checkFile(Path input, Path output) throws IOException {
+        int[] results = checkFile(input);
+
+        // Format digits by hand into one reusable buffer instead of creating a String per result
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+            byte[] line = new byte[12];
+            for (int result : results) {
+                int pos = line.length;
+                line[--pos] = '\n';
+                do {
+                    line[--pos] = (byte) ('0' + result % 10);
+                    result /= 10;
+                } while (result > 0);
+                out.write(line, pos, line.length - pos);
+            }
+        }
+    }
+
+    /**
+     * Counts the PINs (lines) in pins[from, to); a last line without a newline still counts.
+     */
+    private static int countLines(ByteBuffer pins, int from, int to) {
+        int lines = 0;
+        for (int i = from; i < to; i++) {
+            if (pins.get(i) == '\n') lines++;
+        }
+        if (to > from && pins.get(to - 1) != '\n') lines++;
+        return lines;
+    }
+
+    /**
+     * Evaluates every PIN in pins[from, to) and stores the counts starting at results[offset].
+     */
+    private static void checkChunk(ByteBuffer pins, int from, int to, int[] results, int offset) {
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            boolean lineEnd = i == to ? i > start : pins.get(i) == '\n';
+            if (!lineEnd) continue;
+
+            int end = i;
+            if (end > start && pins.get(end - 1) == '\r') end--;  // Windows line ending
+            results[offset++] = StrongPinChecker.strongPinChecker(pins, start, end);
+            start = i + 1;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2) {
+            // Usage: java dsa.StrongPinAudit <pin-file> <result-file>
+            checkFile(Paths.get(args[0]), Paths.get(args[1]));
+            return;
+        }
+
+        // Demo with the same PINs as StrongPinChecker.main
+        String pins = "X1!\n123456\nAa1234!\nAAAAAAAAAAAAAAAAAAAAAAA\naaabc\n";
+        int[] results = checkAll(ByteBuffer.wrap(pins.getBytes(StandardCharsets.US_ASCII)));
+        for (int result : results) {
+            System.out.println(result);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dsa;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class StrongPinBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;    // Untimed rounds so the JIT compiles the hot paths
+    private static final int MEASURED_ROUNDS = 10; // Timed rounds averaged into the reported throughput
+
+    /**
+     * Compares calls per second of the previous list-based checker with the single-pass core.
+     *
+     * Usage: java dsa.StrongPinBenchmark [pinCount]
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        // Random PINs of length 1..30 with occasional repeats
+        Random random = new Random(42);
+        String alphabet = "abcXYZ0123!";
+        String[] pins = new String[count];
+        for (int p = 0; p < count; p++) {
+            int length = 1 + random.nextInt(30);
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < length) {
+                char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                int run = random.nextInt(4) == 0 ? 3 + random.nextInt(4) : 1;
+                for (int r = 0; r < run && sb.length() < length; r++) sb.append(c);
+            }
+            pins[p] = sb.toString();
+        }
+
+        // Same PINs packed into one byte buffer for the allocation-free core
+        byte[] packed = String.join("\n", pins).getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        int[] starts = new int[count + 1];
+        for (int p = 0, pos = 0; p < count; p++) {
+            starts[p] = pos;
+            pos += pins[p].length() + 1;
+        }
+        starts[count] = packed.length + 1;
+
+        report("before (list-based)", count, () -> {
+            long sum = 0;
+            for (String pin : pins) sum += legacyStrongPinChecker(pin);
+            return sum;
+        });
+        report("after (String)", count, () -> {
+            long sum = 0;
+            for (String pin : pins) sum += StrongPinChecker.strongPinChecker(pin);
+            return sum;
+        });
+        report("after (ByteBuffer)", count, () -> {
+            long sum = 0;
+            for (int p = 0; p < count; p++) sum += StrongPinChecker.strongPinChecker(buffer, starts[p], starts[p + 1] - 1);
+            return sum;
+        });
+    }
+
+    /**
+     * Runs the task for the warmup and measured rounds and prints calls per second.
+     */
+    private static void report(String name, int calls, java.util.function.LongSupplier task) {
+        long sink = 0;  // Consumed results so the JIT cannot drop the work
+        for (int i = 0; i < WARMUP_ROUNDS; i++) sink += task.getAsLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) sink += task.getAsLong();
+        long elapsed = System.nanoTime() - start;
+
+        double callsPerSecond = (double) calls * MEASURED_ROUNDS / (elapsed / 1e9);
+        System.out.printf("%-20s %,15.0f calls/s (checksum %d)%n", name, callsPerSecond, sink);
+    }
+
+    /**
+     * Previous implementation of StrongPinChecker.strongPinChecker, kept only as the "before" baseline.
+     * Its > 20 length branch is not a correct minimum; do not use it for results.
+     */
+    private static int legacyStrongPinChecker(String pin) {
+        int n = pin.length();
+        boolean hasLower = false, hasUpper = false, hasDigit = false;
+        for (char c : pin.toCharArray()) {
+            if (Character.isLowerCase(c)) hasLower = true;
+            else if (Character.isUpperCase(c)) hasUpper = true;
+            else if (Character.isDigit(c)) hasDigit = true;
+        }
+        int missingTypes = 0;
+        if (!hasLower) missingTypes++;
+        if (!hasUpper) missingTypes++;
+        if (!hasDigit) missingTypes++;
+
+        List<Integer> repeatLens = new ArrayList<>();
+        int i = 2;
+        while (i < n) {
+            int len = 2;
+            while (i < n && pin.charAt(i) == pin.charAt(i - 1) && pin.charAt(i - 1) == pin.charAt(i - 2)) {
+                len++;
+                i++;
+            }
+            if (len > 2) repeatLens.add(len);
+            else i++;
+        }
+
+        if (n < 6) {
+            return Math.max(6 - n, missingTypes);
+        } else if (n <= 20) {
+            int replace = 0;
+            for (int len : repeatLens) replace += len / 3;
+            return Math.max(missingTypes, replace);
+        } else {
+            int delete = n - 20;
+            int replace = 0;
+            int remainingDeletes = delete;
+            int[] buckets = new int[3];
+            for (int len : repeatLens) buckets[len % 3]++;
+
+            int del = Math.min(buckets[0], remainingDeletes);
+            replace -= del;
+            remainingDeletes -= del;
+            del = Math.min(buckets[1], remainingDeletes / 2);
+            replace -= del;
+            remainingDeletes -= del * 2;
+            del = remainingDeletes / 3;
+            replace -= del;
+
+            for (int len : repeatLens) {
+                if (len >= 3) {
+                    int reduced = len - Math.min(len - 2, delete);
+                    replace += reduced / 3;
+                }
+            }
+            return delete + Math.max(missingTypes, replace);
+        }
+    }
+}
@@ -1,4 +1,6 @@
 package dsa;
+import java.nio.ByteBuffer;
+
 public class StrongPinChecker {
 
     // Main method to compute the number of changes required to make the pin strong
@@ -8,90 +10,115 @@ public class StrongPinChecker {
         // Step 1: Flags to track presence of required character types
         boolean hasLower = false, hasUpper = false, hasDigit = false;
 
-        // Step 2: Scan through each character to check which types are present
-        for (char c : pin.toCharArray()) {
+        // Step 2: Counters describing the repeating sequences of length >= 3
+        int replace = 0;       // Sum of len / 3 over all repeats (replacements if nothing is deleted)
+        int mod0Repeats = 0;   // Repeats with len % 3 == 0 (one deletion saves a replacement)
+        int mod1Repeats = 0;   // Repeats with len % 3 == 1 (two deletions save a replacement)
+
+        // Step 3: Single pass that classifies each character and measures maximal runs
+        int i = 0;
+        while (i < n) {
+            char c = pin.charAt(i);
             if (Character.isLowerCase(c)) hasLower = true;
             else if (Character.isUpperCase(c)) hasUpper = true;
             else if (Character.isDigit(c)) hasDigit = true;
-        }
 
-        // Step 3: Count how many of the 3 required types are missing
-        int missingTypes = 0;
-        if (!hasLower) missingTypes++;
-        if (!hasUpper) missingTypes++;
-        if (!hasDigit) missingTypes++;
+            int runEnd = i + 1;
+            while (runEnd < n && pin.charAt(runEnd) == c) runEnd++;
 
-        // Step 4: Track lengths of repeating character sequences of length ≥ 3
-        java.util.List<Integer> repeatLens = new java.util.ArrayList<>();
-        int i = 2;
+            int len = runEnd - i;
+            if (len >= 3) {
+                replace += len / 3;
+                if (len % 3 == 0) mod0Repeats++;
+                else if (len % 3 == 1) mod1Repeats++;
+            }
+            i = runEnd;  // Every character of the run has the same type as c
+        }
 
-        while (i < n) {
-            int len = 2;
-            // Check if the current 3-character window is a repeat
-            while (i < n && pin.charAt(i) == pin.charAt(i - 1) && pin.charAt(i - 1) == pin.charAt(i - 2)) {
-                len++;
-                i++;
+        int missingTypes = (hasLower ? 0 : 1) + (hasUpper ? 0 : 1) + (hasDigit ? 0 : 1);
+        return requiredChanges(n, missingTypes, replace, mod0Repeats, mod1Repeats);
+    }
+
+    /**
+     * Allocation-free variant of strongPinChecker for one PIN stored as ASCII bytes in pins[from, to).
+     * Used by the bulk audit pipeline; it follows exactly the same rules as the String version.
+     * Non-ASCII bytes count as "other" characters.
+     *
+     * @param pins Buffer holding the PIN bytes (heap or memory-mapped); only absolute reads are used.
+     * @param from Index of the first PIN byte.
+     * @param to Index just past the last PIN byte.
+     * @return Number of changes required to make the PIN strong.
+     */
+    static int strongPinChecker(ByteBuffer pins, int from, int to) {
+        boolean hasLower = false, hasUpper = false, hasDigit = false;
+        int replace = 0, mod0Repeats = 0, mod1Repeats = 0;
+
+        int i = from;
+        while (i < to) {
+            byte c = pins.get(i);
+            if (c >= 'a' && c <= 'z') hasLower = true;
+            else if (c >= 'A' && c <= 'Z') hasUpper = true;
+            else if (c >= '0' && c <= '9') hasDigit = true;
+
+            int runEnd = i + 1;
+            while (runEnd < to && pins.get(runEnd) == c) runEnd++;
+
+            int len = runEnd - i;
+            if (len >= 3) {
+                replace += len / 3;
+                if (len % 3 == 0) mod0Repeats++;
+                else if (len % 3 == 1) mod1Repeats++;
             }
-            if (len > 2) repeatLens.add(len); // Add repeat length
-            else i++;
+            i = runEnd;
         }
 
+        int missingTypes = (hasLower ? 0 : 1) + (hasUpper ? 0 : 1) + (hasDigit ? 0 : 1);
+        return requiredChanges(to - from, missingTypes, replace, mod0Repeats, mod1Repeats);
+    }
+
+    /**
+     * Combines the per-PIN counters into the minimum number of insertions, deletions and replacements.
+     *
+     * @param n Length of the PIN.
+     * @param missingTypes Number of missing character types (lower, upper, digit).
+     * @param replace Sum of len / 3 over all repeats of length >= 3.
+     * @param mod0Repeats Number of repeats with len % 3 == 0.
+     * @param mod1Repeats Number of repeats with len % 3 == 1.
+     * @return Number of changes required to make the PIN strong.
+     */
+    private static int requiredChanges(int n, int missingTypes, int replace, int mod0Repeats, int mod1Repeats) {
         // Case 1: PIN is too short (< 6 characters)
         if (n < 6) {
-            // Need to insert characters; insertions can fix both length and type issues
+            // Insertions fix the length, missing types and any repeat (at most one run of <= 5) together
             return Math.max(6 - n, missingTypes);
         }
 
         // Case 2: PIN is within valid length (6 to 20)
-        else if (n <= 20) {
-            // Count how many replacements are needed for each repeat
-            int replace = 0;
-            for (int len : repeatLens) {
-                replace += len / 3;  // Every 3 repeating chars require 1 replacement
-            }
-            // Return the maximum between missing types and needed replacements
+        if (n <= 20) {
+            // Each replacement can also supply a missing type
             return Math.max(missingTypes, replace);
         }
 
         // Case 3: PIN is too long (> 20 characters)
-        else {
-            int delete = n - 20;      // Total deletions required to meet max length
-            int replace = 0;          // Replacement counter for repeats
-            int remainingDeletes = delete;
-
-            // Create buckets for repeat patterns mod 3 (for greedy deletion optimization)
-            int[] buckets = new int[3];
-            for (int len : repeatLens) {
-                buckets[len % 3]++;
-            }
+        // Deletions are mandatory; spend them where they remove the most replacements:
+        int delete = n - 20;
+        int remaining = delete;
 
-            // Prioritize deleting from sequences where it reduces replacements most:
-            // 1. Delete 1 char from len%3==0 groups
-            int del = Math.min(buckets[0], remainingDeletes);
-            replace -= del;
-            remainingDeletes -= del;
-
-            // 2. Delete 2 chars from len%3==1 groups
-            del = Math.min(buckets[1], remainingDeletes / 2);
-            replace -= del;
-            remainingDeletes -= del * 2;
-
-            // 3. Delete 3+ chars from the rest
-            del = remainingDeletes / 3;
-            replace -= del;
-            remainingDeletes -= del * 3;
-
-            // Recalculate remaining replacements after deletions
-            for (int len : repeatLens) {
-                if (len >= 3) {
-                    int reduced = len - Math.min(len - 2, delete); // Apply deletions
-                    replace += reduced / 3;                        // Count replacements for remaining repeats
-                }
-            }
+        // 1. One deletion per len%3==0 repeat saves one replacement
+        int used = Math.min(remaining, mod0Repeats);
+        replace -= used;
+        remaining -= used;
 
-            // Final changes = deletions + max of (remaining replacements or missing character types)
-            return delete + Math.max(missingTypes, replace);
-        }
+        // 2. Two deletions per len%3==1 repeat save one replacement
+        used = Math.min(remaining, mod1Repeats * 2);
+        replace -= used / 2;
+        remaining -= used;
+
+        // 3. Every further three deletions save one replacement on any remaining repeat
+        replace -= Math.min(replace, remaining / 3);
+
+        // Final changes = deletions + max of (remaining replacements or missing character types)
+        return delete + Math.max(missingTypes, replace);
     }
 
     // Main method with test cases
@@ -99,7 +126,7 @@ public class StrongPinChecker {
         System.out.println(strongPinChecker("X1!"));               // Output: 3
         System.out.println(strongPinChecker("123456"));            // Output: 2
         System.out.println(strongPinChecker("Aa1234!"));           // Output: 0 (already strong)
-        System.out.println(strongPinChecker("AAAAAAAAAAAAAAAAAAAAAAA")); // Output: 11 (long & repetitive)
+        System.out.println(strongPinChecker("AAAAAAAAAAAAAAAAAAAAAAA")); // Output: 9 (3 deletions, 6 replacements)
         System.out.println(strongPinChecker("aaabc")); // Output:2
     }
 }
@@ -0,0 +1,162 @@
+package dsa;
+import java.util.*;
+
+public class StrongPinOracle {
+
+    // Fresh characters that may be inserted or substituted: one per required class.
+    // A fresh character never equals any PIN character or another fresh character, which is always
+    // achievable because each class has far more characters than the small test alphabets use.
+    private static final int LOWER = 1, UPPER = 2, DIGIT = 4;
+    private static final int[] FRESH_CLASSES = {LOWER, UPPER, DIGIT};
+
+    private static final int MAX_LEN = 20;  // Longest strong PIN
+    private static final int MIN_LEN = 6;   // Shortest strong PIN
+
+    /**
+     * Brute-force minimum number of insertions, deletions and replacements that turn the PIN into
+     * a strong one, found by a 0-1 BFS over (PIN position, output length, class mask, last char, run length).
+     * Keeping a PIN character costs 0; every edit costs 1. The first goal state popped from the deque
+     * has the minimum edit count, so this does not depend on any of the greedy reasoning in StrongPinChecker.
+     *
+     * @param pin The PIN to evaluate.
+     * @return Minimum number of changes required to make the PIN strong.
+     */
+    public static int minChanges(String pin) {
+        int n = pin.length();
+
+        // Index distinct PIN characters as 1..d; index 0 means "fresh" (or no character yet)
+        Map<Character, Integer> charIndex = new HashMap<>();
+        int[] pinChar = new int[n];
+        int[] pinClass = new int[n];
+        for (int i = 0; i < n; i++) {
+            char c = pin.charAt(i);
+            pinChar[i] = charIndex.computeIfAbsent(c, key -> charIndex.size() + 1);
+            pinClass[i] = Character.isLowerCase(c) ? LOWER
+                        : Character.isUpperCase(c) ? UPPER
+                        : Character.isDigit(c) ? DIGIT : 0;
+        }
+        int chars = charIndex.size() + 1;
+
+        int states = (n + 1) * (MAX_LEN + 1) * 8 * chars * 3;
+        int[] dist = new int[states];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+
+        int start = encode(0, 0, 0, 0, 0, chars);
+        dist[start] = 0;
+        deque.add(start);
+
+        while (!deque.isEmpty()) {
+            int state = deque.pollFirst();
+            int d = dist[state];
+
+            // Decode the state
+            int run = state % 3;
+            int rest = state / 3;
+            int last = rest % chars;
+            rest /= chars;
+            int mask = rest % 8;
+            rest /= 8;
+            int len = rest % (MAX_LEN + 1);
+            int pos = rest / (MAX_LEN + 1);
+
+            if (pos == n && len >= MIN_LEN && mask == 7) return d;
+
+            if (pos < n) {
+                // Keep the PIN character (cost 0)
+                relax(dist, deque, d, 0, pos + 1, len, mask | pinClass[pos], last, run, pinChar[pos], chars);
+                // Delete it (cost 1)
+                relax(dist, deque, d, 1, pos + 1, len, mask, last, run, -1, chars);
+                // Replace it with a fresh character of any class (cost 1)
+                for (int cls : FRESH_CLASSES) {
+                    relax(dist, deque, d, 1, pos + 1, len, mask | cls, last, run, 0, chars);
+                }
+            }
+            // Insert a fresh character of any class (cost 1)
+            for (int cls : FRESH_CLASSES) {
+                relax(dist, deque, d, 1, pos, len, mask | cls, last, run, 0, chars);
+            }
+        }
+        throw new IllegalStateException("No strong PIN reachable from: " + pin);
+    }
+
+    /**
+     * Moves to the next state, optionally appending a character, if that improves its distance.
+     *
+     * @param appended Index of the appended character (0 = fresh), or -1 if nothing is appended.
+     */
+    private static void relax(int[] dist, ArrayDeque<Integer> deque, int d, int cost,
+                              int pos, int len, int mask, int last, int run, int appended, int chars) {
+        if (appended >= 0) {
+            // Fresh characters never extend a run; equal PIN characters do
+            run = (appended != 0 && appended == last) ? run + 1 : 1;
+            if (run >= 3 || len == MAX_LEN) return;  // Three in a row, or too long to ever be strong
+            last = appended;
+            len++;
+        }
+
+        int next = encode(pos, len, mask, last, run, chars);
+        if (d + cost < dist[next]) {
+            dist[next] = d + cost;
+            if (cost == 0) deque.addFirst(next);
+            else deque.addLast(next);
+        }
+    }
+
+    private static int encode(int pos, int len, int mask, int last, int run, int chars) {
+        return (((pos * (MAX_LEN + 1) + len) * 8 + mask) * chars + last) * 3 + run;
+    }
+
+    /**
+     * Checks StrongPinChecker against the oracle for every PIN over the alphabet up to maxLength,
+     * then for random long PINs that exercise the deletion (> 20 characters) branch.
+     *
+     * Usage: java dsa.StrongPinOracle [alphabet] [maxLength] [randomSamples]
+     */
+    public static void main(String[] args) {
+        String alphabet = args.length > 0 ? args[0] : "aA1";
+        int maxLength = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int samples = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+        // Step 1: Exhaustive check of every PIN up to maxLength, enumerated like an odometer
+        long checked = 0;
+        char[] pin = new char[maxLength];
+        int[] digits = new int[maxLength];
+        for (int length = 0; length <= maxLength; length++) {
+            Arrays.fill(digits, 0);
+            while (true) {
+                for (int i = 0; i < length; i++) pin[i] = alphabet.charAt(digits[i]);
+                verify(new String(pin, 0, length));
+                checked++;
+
+                int i = length - 1;
+                while (i >= 0 && ++digits[i] == alphabet.length()) digits[i--] = 0;
+                if (i < 0) break;
+            }
+        }
+        System.out.println("Exhaustive: " + checked + " PINs up to length " + maxLength + " over \"" + alphabet + "\" OK");
+
+        // Step 2: Random long PINs built from runs, so repeats of every length mod 3 appear
+        Random random = new Random(42);
+        String longAlphabet = alphabet + "b!";
+        for (int s = 0; s < samples; s++) {
+            int length = 21 + random.nextInt(20);
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < length) {
+                char c = longAlphabet.charAt(random.nextInt(longAlphabet.length()));
+                int run = 1 + random.nextInt(8);
+                for (int r = 0; r < run && sb.length() < length; r++) sb.append(c);
+            }
+            verify(sb.toString());
+        }
+        System.out.println("Random: " + samples + " PINs of length 21..40 OK");
+    }
+
+    private static void verify(String pin) {
+        int expected = minChanges(pin);
+        int actual = StrongPinChecker.strongPinChecker(pin);
+        if (actual != expected) {
+            throw new AssertionError("PIN \"" + pin + "\": expected " + expected + " but got " + actual);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package dsa;
+import java.util.*;
+import java.util.stream.IntStream;
+
+public class SubsequenceIndex {
+
+    private final int length;        // Length of p1
+    private final int alphabetSize;  // Number of distinct characters in p1
+    private final int[] charIndex;   // charIndex[c] = compact index of character c, or -1 if not in p1
+
+    // next[i * alphabetSize + c] = first position >= i in p1 holding character c, or -1 if none
+    private final int[] next;
+
+    /**
+     * One extraction query against the indexed p1.
+     */
+    public static class Query {
+        final String pattern;  // p2, the subsequence to extract
+        final int t1;          // Number of times p1 is repeated
+        final int t2;          // Maximum number of extractions allowed
+
+        public Query(String pattern, int t1, int t2) {
+            this.pattern = pattern;
+            this.t1 = t1;
+            this.t2 = t2;
+        }
+    }
+
+    /**
+     * Builds the next-occurrence table for p1 once, so many patterns can be matched against it.
+     *
+     * Time Complexity: O(|p1| * alphabet) to build
+     * Space Complexity: O(|p1| * alphabet) ints, where alphabet is the number of distinct characters in p1
+     *
+     * @param p1 The pattern string that is repeated.
+     */
+    public SubsequenceIndex(String p1) {
+        length = p1.length();
+
+        // Step 1: Compact alphabet of the characters that actually occur in p1
+        int maxChar = 0;
+        for (int i = 0; i < length; i++) maxChar = Math.max(maxChar, p1.charAt(i));
+        charIndex = new int[maxChar + 1];
+        Arrays.fill(charIndex, -1);
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (charIndex[p1.charAt(i)] == -1) charIndex[p1.charAt(i)] = size++;
+        }
+        alphabetSize = size;
+
+        // Step 2: Fill the table from the end; row i copies row i + 1 and updates p1[i]
+        next = new int[(length + 1) * alphabetSize];
+        Arrays.fill(next, length * alphabetSize, next.length, -1);
+        for (int i = length - 1; i >= 0; i--) {
+            System.arraycopy(next, (i + 1) * alphabetSize, next, i * alphabetSize, alphabetSize);
+            next[i * alphabetSize + charIndex[p1.charAt(i)]] = i;
+        }
+    }
+
+    /**
+     * Same result as PatternSequenceExtraction.maxExtracted(p1, t1, p2, t2) for the indexed p1.
+     *
+     * For each starting offset in p2, one pass of p1 is simulated by jumping straight to the next
+     * occurrence of each needed character, so a pass costs one table lookup per matched character
+     * instead of a scan of p1. The passes are then combined with the same cycle skip.
+     *
+     * @param p2 The target subsequence we want to extract.
+     * @param t1 The number of times p1 is repeated.
+     * @param t2 The maximum number of extractions allowed.
+     * @return   The number of times p2 can be extracted (up to t2 times).
+     */
+    public int maxExtracted(String p2, int t1, int t2) {
+        if (p2.isEmpty()) return t2;  // An empty pattern can be extracted any number of times, even from nothing
+        if (t1 <= 0 || t2 <= 0) return 0;
+
+        int m = p2.length();
+
+        // A character missing from p1 can never be matched
+        int[] pattern = new int[m];
+        for (int j = 0; j < m; j++) {
+            char c = p2.charAt(j);
+            pattern[j] = c < charIndex.length ? charIndex[c] : -1;
+            if (pattern[j] == -1) return 0;
+        }
+
+        // For every offset j in p2, simulate one pass over p1 with next-occurrence jumps
+        int[] nextOffset = new int[m];
+        int[] completions = new int[m];
+        for (int start = 0; start < m; start++) {
+            int j = start, done = 0, pos = 0;
+            while (pos < length) {
+                int found = next[pos * alphabetSize + pattern[j]];
+                if (found == -1) break;  // The rest of this pass cannot match p2[j]
+                pos = found + 1;
+                if (++j == m) {
+                    j = 0;
+                    done++;
+                }
+            }
+            nextOffset[start] = j;
+            completions[start] = done;
+        }
+
+        return PatternSequenceExtraction.countPasses(nextOffset, completions, t1, t2);
+    }
+
+    /**
+     * Answers a batch of queries in parallel. The index is read-only after construction,
+     * so queries can share it without locking.
+     *
+     * @param queries Queries against the indexed p1.
+     * @return Extraction count for each query, in the same order as the input.
+     */
+    public int[] maxExtractedAll(List<Query> queries) {
+        int[] results = new int[queries.size()];
+        IntStream.range(0, results.length)
+                 .parallel()
+                 .forEach(q -> {
+                     Query query = queries.get(q);
+                     results[q] = maxExtracted(query.pattern, query.t1, query.t2);
+                 });
+        return results;
+    }
+
+    public static void main(String[] args) {
+        SubsequenceIndex index = new SubsequenceIndex("bca");
+
+        // Same examples as PatternSequenceExtraction, answered from one index
+        System.out.println("Max extracted times: " + index.maxExtracted("ba", 6, 3));        // Output: 3
+        System.out.println("Max extracted times with t2=5: " + index.maxExtracted("ba", 6, 5)); // Output: 5
+
+        List<Query> queries = Arrays.asList(
+            new Query("ba", 6, 5),
+            new Query("abc", 6, 10),
+            new Query("cc", 1_000_000, Integer.MAX_VALUE),
+            new Query("xyz", 6, 5)
+        );
+        System.out.println("Batch: " + Arrays.toString(index.maxExtractedAll(queries))); // Output: [5, 5, 500000, 0]
+    }
+}
@@ -0,0 +1,102 @@
+package dsa;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+public class TreasureHuntBenchmark {
+
+    private static final int WARMUP_ROUNDS = 1;    // Untimed rounds so the JIT compiles the hot paths
+    private static final int MEASURED_ROUNDS = 3;  // Timed rounds averaged into the reported time
+    private static final int AVERAGE_DEGREE = 8;   // Expected neighbours per node in the random boards
+    private static final int BYTES_PER_STATE = 7;  // byte result + short degree + int queue entry
+
+    /**
+     * Compares the sequential and the level-synchronous parallel solver on random boards, and checks
+     * that both produce the same table. Sizes whose tables do not fit in the heap are skipped.
+     *
+     * The default sizes stop at 10,000 nodes (about 1.3 GB of tables). 20,000 nodes needs about
+     * 5.3 GB of tables, so run it explicitly with a large heap, e.g.
+     * java -Xmx8g dsa.TreasureHuntBenchmark 20000. A speedup needs several cores: on a single core
+     * the parallel solver only adds overhead (measured 0.5-0.9x from 1,000 to 10,000 nodes).
+     *
+     * Usage: java dsa.TreasureHuntBenchmark [nodes ...]
+     */
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                                      : new int[] {1_000, 2_000, 5_000, 10_000};
+        int cores = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(cores);
+        System.out.println("cores = " + cores);
+        if (cores == 1) {
+            System.out.println("Only one core: the parallel times show overhead, not speedup");
+        }
+
+        for (int n : sizes) {
+            long needed = 2L * n * n * BYTES_PER_STATE;
+            if (needed > Runtime.getRuntime().maxMemory() * 3 / 4) {
+                System.out.printf("n = %,d: skipped, needs about %,d MB of heap%n", n, needed >> 20);
+                continue;
+            }
+            int[][] graph = randomGraph(n, new Random(n));
+
+            byte[] expected = TreasureHuntGame.solve(graph);
+            byte[] actual = TreasureHuntGame.solveParallel(graph, TreasureHuntGame.DEFAULT_BATCH_SIZE, pool);
+            if (!Arrays.equals(expected, actual)) {
+                throw new IllegalStateException("Parallel table differs from the sequential one for n = " + n);
+            }
+            expected = actual = null;  // Let the tables go before timing
+
+            double sequential = measure(() -> TreasureHuntGame.solve(graph));
+            double parallel = measure(() -> TreasureHuntGame.solveParallel(
+                    graph, TreasureHuntGame.DEFAULT_BATCH_SIZE, pool));
+            System.out.printf("n = %,6d: sequential %9.1f ms, parallel %9.1f ms (speedup %.2fx)%n",
+                    n, sequential, parallel, sequential / parallel);
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Random undirected graph with about AVERAGE_DEGREE neighbours per node and no isolated nodes.
+     */
+    private static int[][] randomGraph(int n, Random random) {
+        List<Set<Integer>> adjacency = new ArrayList<>();
+        for (int i = 0; i < n; i++) adjacency.add(new HashSet<>());
+
+        // A random spanning tree keeps the board connected, then random extra links fill it up
+        for (int i = 1; i < n; i++) {
+            int j = random.nextInt(i);
+            adjacency.get(i).add(j);
+            adjacency.get(j).add(i);
+        }
+        long extra = (long) n * AVERAGE_DEGREE / 2 - (n - 1);
+        for (long k = 0; k < extra; k++) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (a == b) continue;
+            adjacency.get(a).add(b);
+            adjacency.get(b).add(a);
+        }
+
+        int[][] graph = new int[n][];
+        for (int i = 0; i < n; i++) {
+            graph[i] = adjacency.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return graph;
+    }
+
+    /**
+     * Runs the solver for the warmup and measured rounds.
+     *
+     * @return Average milliseconds per measured round.
+     */
+    private static double measure(Supplier<byte[]> task) {
+        long sink = 0;  // Consumed results so the JIT cannot drop the work
+        for (int i = 0; i < WARMUP_ROUNDS; i++) sink += task.get()[0];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) sink += task.get()[0];
+        long elapsed = System.nanoTime() - start;
+
+        if (sink == Long.MIN_VALUE) System.out.println(sink);
+        return elapsed / 1e6 / MEASURED_ROUNDS;
+    }
+}
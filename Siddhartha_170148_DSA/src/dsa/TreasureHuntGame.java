@@ -1,5 +1,10 @@
 package dsa;
-import java.util.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TreasureHuntGame {
 
@@ -12,6 +17,16 @@ public class TreasureHuntGame {
     public static final int MOUSE_TURN = 1;
     public static final int CAT_TURN = 2;
 
+    // Largest supported board: 2 * n^2 packed states must fit in an int
+    static final int MAX_NODES = 32767;
+
+    // Frontier states handled by one fork-join leaf in the parallel solver
+    public static final int DEFAULT_BATCH_SIZE = 1 << 12;
+
+    // Atomic access to the byte[] results and short[] degree arrays, keeping their compact layout
+    private static final VarHandle RESULT = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final VarHandle DEGREE = MethodHandles.arrayElementVarHandle(short[].class);
+
     /**
      * Solves the game using BFS + DP (bottom-up state classification).
      *
@@ -19,155 +34,369 @@ public class TreasureHuntGame {
      * @return Outcome of the game: 1 if mouse wins, 2 if cat wins, 0 if draw.
      */
     public int treasureGame(int[][] graph) {
-        int n = graph.length;
+        byte[] results = solve(graph);
 
-        // dp[mouse][cat][turn] stores result of state:  
-        // 0 = draw, 1 = mouse wins, 2 = cat wins, -1 = unknown (unvisited)
-        int[][][] dp = new int[n][n][3];
-        for (int[][] layer : dp)
-            for (int[] row : layer)
-                Arrays.fill(row, -1);
+        // The initial state: mouse at 1, cat at 2, mouse to move first
+        return results[state(graph.length, 1, 2, MOUSE_TURN)];
+    }
 
-        // degree[mouse][cat][turn] = number of possible moves for current player from this state
-        int[][][] degree = new int[n][n][3];
+    /**
+     * Solves the game from every start position at once and keeps the whole table, together with
+     * the distance to the end of the game and the best move for each state.
+     *
+     * Time Complexity: O(n * E) for E adjacency entries
+     * Space Complexity: 13 bytes per state while solving, 7 bytes per state kept
+     *
+     * @param graph The undirected graph representing the game board.
+     * @return Solution answering outcome, distance and bestMove queries in O(1).
+     */
+    public GameSolution solveAll(int[][] graph) {
+        int n = graph.length;
+        checkSize(n);
+        int[] distance = new int[2 * n * n];
+        short[] move = new short[2 * n * n];
+        Arrays.fill(move, (short) -1);
+        byte[] results = solve(graph, distance, move);
 
-        // Precompute the degree (# of moves) for each state
+        // Draws are never decided by the solver: keep the game drawn by moving to another draw
         for (int mouse = 0; mouse < n; mouse++) {
             for (int cat = 0; cat < n; cat++) {
-                degree[mouse][cat][MOUSE_TURN] = graph[mouse].length; // mouse can move to all neighbors
-                // cat cannot move to node 0 (the treasure)
-                int catMoves = 0;
-                for (int nextCat : graph[cat]) {
-                    if (nextCat != 0) catMoves++;
+                int s = state(n, mouse, cat, MOUSE_TURN);
+                if (results[s] == DRAW) {
+                    distance[s] = -1;
+                    for (int next : graph[mouse]) {
+                        if (results[state(n, next, cat, CAT_TURN)] == DRAW) {
+                            move[s] = (short) next;
+                            break;
+                        }
+                    }
+                }
+                if (results[s + 1] == DRAW) {
+                    distance[s + 1] = -1;
+                    for (int next : graph[cat]) {
+                        if (next != 0 && results[state(n, mouse, next, MOUSE_TURN)] == DRAW) {
+                            move[s + 1] = (short) next;
+                            break;
+                        }
+                    }
                 }
-                degree[mouse][cat][CAT_TURN] = catMoves;
             }
         }
+        return new GameSolution(n, results, move, distance);
+    }
 
-        // Queue for BFS to process states from known terminal positions
-        Queue<State> queue = new LinkedList<>();
-
-        // Initialize terminal states (base cases):
+    /**
+     * Packs a state into one int: (mouse * n + cat) * 2 + (0 for the mouse's turn, 1 for the cat's).
+     */
+    static int state(int n, int mouse, int cat, int turn) {
+        return (mouse * n + cat) * 2 + (turn == MOUSE_TURN ? 0 : 1);
+    }
 
-        // 1) Mouse at 0 → Mouse wins
-        for (int cat = 0; cat < n; cat++) {
-            for (int turn = MOUSE_TURN; turn <= CAT_TURN; turn++) {
-                dp[0][cat][turn] = MOUSE_WIN;
-                queue.offer(new State(0, cat, turn, MOUSE_WIN));
-            }
-        }
+    /**
+     * Retrograde analysis over every (mouse, cat, turn) state.
+     *
+     * States are packed ints indexing flat arrays: results is a byte per state (DRAW doubles as
+     * "unknown", since states never decided are draws), degree a short per state counting the moves
+     * not yet known to lose, and the queue a single preallocated int[] (each state enters at most
+     * once). Predecessors are enumerated inline from the adjacency lists, so nothing is allocated
+     * per state. The predecessor rule is the exact inverse of the moves counted in degree (the cat
+     * never moves onto 0), which makes the result independent of the order states are processed in.
+     *
+     * Time Complexity: O(n * E) for E adjacency entries
+     * Space Complexity: 7 bytes per state, 2 * n^2 states
+     *
+     * @return results[state(n, mouse, cat, turn)] = DRAW, MOUSE_WIN or CAT_WIN.
+     */
+    static byte[] solve(int[][] graph) {
+        return solve(graph, null, null);
+    }
 
-        // 2) Cat catches mouse → Cat wins
-        for (int i = 0; i < n; i++) {
-            for (int turn = MOUSE_TURN; turn <= CAT_TURN; turn++) {
-                if (i != 0) {
-                    dp[i][i][turn] = CAT_WIN;
-                    queue.offer(new State(i, i, turn, CAT_WIN));
-                }
-            }
-        }
+    /**
+     * Same as solve(graph), optionally recording for every decided state its distance (moves until
+     * the game ends) and the node the player to move should go to.
+     *
+     * The queue is processed in order of distance, so the first winning successor found is the
+     * fastest win and the last losing successor the longest defence.
+     *
+     * @param distance Receives the distances, or null; terminal states keep 0.
+     * @param move     Receives the best moves, or null; states never decided keep their value.
+     */
+    static byte[] solve(int[][] graph, int[] distance, short[] move) {
+        int n = graph.length;
+        checkSize(n);
+        int states = 2 * n * n;
+        byte[] results = new byte[states];
+        short[] degree = initialDegrees(graph);
+        int[] queue = new int[states];
+        int head = 0, tail = seedTerminals(n, results, queue);
 
         // Process the queue: propagate known outcomes backward to predecessor states
-        while (!queue.isEmpty()) {
-            State cur = queue.poll();
-            int mouse = cur.mouse;
-            int cat = cur.cat;
-            int turn = cur.turn;
-            int result = cur.result;
-
-            // Get all states that can lead to the current state (predecessors)
-            for (State prev : getParents(graph, mouse, cat, turn)) {
-                if (dp[prev.mouse][prev.cat][prev.turn] != -1) {
-                    // Already known result for this predecessor
-                    continue;
-                }
+        while (head < tail) {
+            int s = queue[head++];
+            byte result = results[s];
+            int cell = s >> 1;
+            int mouse = cell / n, cat = cell % n;
 
-                // If it's the current player's turn in the predecessor state:
-                // - If current state is winning for the current player, then predecessor is losing for the other player.
-                // - If current state is losing for the current player, predecessor might still be undecided.
-                if (prev.turn == MOUSE_TURN) {
-                    // Mouse turn in predecessor state
-                    if (result == MOUSE_WIN) {
-                        // If current state is mouse win, predecessor is mouse win because mouse can force a win
-                        dp[prev.mouse][prev.cat][prev.turn] = MOUSE_WIN;
-                        queue.offer(new State(prev.mouse, prev.cat, prev.turn, MOUSE_WIN));
+            if ((s & 1) == 0) {
+                // Mouse to move now, so the cat moved last: predecessors are (mouse, prevCat, CAT_TURN).
+                // The cat cannot move to 0, so a state with the cat at 0 has no such predecessors.
+                if (cat == 0) continue;
+                for (int prevCat : graph[cat]) {
+                    int p = ((mouse * n + prevCat) << 1) | 1;
+                    if (results[p] != DRAW) continue;  // Already known
+                    if (result == CAT_WIN) {
+                        // The cat can move into a winning state
+                        results[p] = CAT_WIN;
+                        queue[tail++] = p;
+                    } else if (--degree[p] == 0) {
+                        // Every cat move leads to a mouse win
+                        results[p] = MOUSE_WIN;
+                        queue[tail++] = p;
                     } else {
-                        // Decrease degree, if no more moves to avoid mouse loss, mark cat win
-                        degree[prev.mouse][prev.cat][prev.turn]--;
-                        if (degree[prev.mouse][prev.cat][prev.turn] == 0) {
-                            dp[prev.mouse][prev.cat][prev.turn] = CAT_WIN;
-                            queue.offer(new State(prev.mouse, prev.cat, prev.turn, CAT_WIN));
-                        }
+                        continue;
                     }
-                } else {
-                    // Cat turn in predecessor state
-                    if (result == CAT_WIN) {
-                        // If current state is cat win, predecessor is cat win because cat can force a win
-                        dp[prev.mouse][prev.cat][prev.turn] = CAT_WIN;
-                        queue.offer(new State(prev.mouse, prev.cat, prev.turn, CAT_WIN));
+                    if (distance != null) {
+                        distance[p] = distance[s] + 1;
+                        move[p] = (short) cat;
+                    }
+                }
+            } else {
+                // Cat to move now, so the mouse moved last: predecessors are (prevMouse, cat, MOUSE_TURN)
+                for (int prevMouse : graph[mouse]) {
+                    int p = (prevMouse * n + cat) << 1;
+                    if (results[p] != DRAW) continue;
+                    if (result == MOUSE_WIN) {
+                        results[p] = MOUSE_WIN;
+                        queue[tail++] = p;
+                    } else if (--degree[p] == 0) {
+                        results[p] = CAT_WIN;
+                        queue[tail++] = p;
                     } else {
-                        // Decrease degree, if no moves to avoid cat loss, mark mouse win
-                        degree[prev.mouse][prev.cat][prev.turn]--;
-                        if (degree[prev.mouse][prev.cat][prev.turn] == 0) {
-                            dp[prev.mouse][prev.cat][prev.turn] = MOUSE_WIN;
-                            queue.offer(new State(prev.mouse, prev.cat, prev.turn, MOUSE_WIN));
-                        }
+                        continue;
+                    }
+                    if (distance != null) {
+                        distance[p] = distance[s] + 1;
+                        move[p] = (short) mouse;
                     }
                 }
             }
         }
+        return results;
+    }
 
-        // The initial state: mouse at 1, cat at 2, mouse to move first
-        return dp[1][2][MOUSE_TURN] == -1 ? DRAW : dp[1][2][MOUSE_TURN];
+    private static void checkSize(int n) {
+        if (n > MAX_NODES) {
+            throw new IllegalArgumentException("Board too large: " + n + " nodes (max " + MAX_NODES + ")");
+        }
+    }
+
+    /**
+     * Marks the terminal states and queues them.
+     *
+     * @return Number of states queued.
+     */
+    private static int seedTerminals(int n, byte[] results, int[] queue) {
+        int tail = 0;
+
+        // Initialize terminal states (base cases):
+        // 1) Mouse at 0 → Mouse wins; 2) Cat catches mouse (away from 0) → Cat wins
+        for (int cat = 0; cat < n; cat++) {
+            int s = state(n, 0, cat, MOUSE_TURN);
+            results[s] = results[s + 1] = MOUSE_WIN;
+            queue[tail++] = s;
+            queue[tail++] = s + 1;
+        }
+        for (int i = 1; i < n; i++) {
+            int s = state(n, i, i, MOUSE_TURN);
+            results[s] = results[s + 1] = CAT_WIN;
+            queue[tail++] = s;
+            queue[tail++] = s + 1;
+        }
+        return tail;
     }
 
     /**
-     * Helper method to find all predecessor states that can lead to the current state.
-     * Predecessor means the state from which current state can be reached in one move.
+     * Parallel version of treasureGame using the common fork-join pool and the default batch size.
+     */
+    public int treasureGameParallel(int[][] graph) {
+        return treasureGameParallel(graph, DEFAULT_BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel version of treasureGame; same result as the sequential solver.
      *
-     * @param graph The game graph.
-     * @param mouse Current mouse position.
-     * @param cat Current cat position.
-     * @param turn Current turn.
-     * @return List of predecessor states.
+     * @param batchSize Frontier states handled by one fork-join leaf.
+     * @param pool      Pool running the level batches.
      */
-    private List<State> getParents(int[][] graph, int mouse, int cat, int turn) {
-        List<State> parents = new ArrayList<>();
-        if (turn == MOUSE_TURN) {
-            // Current turn is mouse's, so previous turn was cat's turn
-            // Cat moved last, mouse position same, cat moved from a neighbor of current cat
-            for (int prevCat : graph[cat]) {
-                if (prevCat == 0) continue; // cat cannot move to 0
-                parents.add(new State(mouse, prevCat, CAT_TURN));
+    public int treasureGameParallel(int[][] graph, int batchSize, ForkJoinPool pool) {
+        byte[] results = solveParallel(graph, batchSize, pool);
+        return results[state(graph.length, 1, 2, MOUSE_TURN)];
+    }
+
+    /**
+     * Level-synchronous retrograde analysis on a fork-join pool.
+     *
+     * The queue is processed one BFS level at a time: all states decided in level k are split into
+     * batches whose predecessors are examined in parallel, and the states they decide form level
+     * k + 1. A result is claimed with compareAndSet from DRAW, so each state is decided and queued
+     * exactly once, and degrees are decremented atomically. Retrograde analysis
+     * reaches the same fixpoint in any processing order, so the table equals the sequential one.
+     *
+     * Each leaf collects the states it decides locally, then reserves a block at the end of the
+     * shared queue with one getAndAdd and copies them in.
+     *
+     * @return Same table as solve(graph).
+     */
+    static byte[] solveParallel(int[][] graph, int batchSize, ForkJoinPool pool) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        int n = graph.length;
+        checkSize(n);
+        byte[] results = new byte[2 * n * n];
+        short[] degree = initialDegrees(graph);
+        int[] queue = new int[results.length];
+        AtomicInteger tail = new AtomicInteger(seedTerminals(n, results, queue));
+
+        // Each pool.invoke finishes a whole level before the next one starts
+        int levelStart = 0, levelEnd = tail.get();
+        while (levelStart < levelEnd) {
+            pool.invoke(new LevelTask(graph, results, degree, queue, tail, levelStart, levelEnd, batchSize));
+            levelStart = levelEnd;
+            levelEnd = tail.get();
+        }
+        return results;
+    }
+
+    /**
+     * Examines the predecessors of queue[from, to) for one level of the parallel solver.
+     */
+    private static class LevelTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] graph;
+        private final byte[] results;
+        private final short[] degree;
+        private final int[] queue;
+        private final AtomicInteger tail;
+        private final int from, to, batchSize;
+
+        LevelTask(int[][] graph, byte[] results, short[] degree, int[] queue, AtomicInteger tail,
+                  int from, int to, int batchSize) {
+            this.graph = graph;
+            this.results = results;
+            this.degree = degree;
+            this.queue = queue;
+            this.tail = tail;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > batchSize) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LevelTask(graph, results, degree, queue, tail, from, mid, batchSize),
+                          new LevelTask(graph, results, degree, queue, tail, mid, to, batchSize));
+                return;
+            }
+
+            int n = graph.length;
+            int[] found = new int[64];  // States decided by this batch
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int s = queue[i];
+                int result = results[s];  // Decided in an earlier level
+                int cell = s >> 1;
+                int mouse = cell / n, cat = cell % n;
+
+                if ((s & 1) == 0) {
+                    // Predecessors (mouse, prevCat, CAT_TURN); the cat wins there if it can move here
+                    if (cat == 0) continue; // cat cannot move to 0
+                    for (int prevCat : graph[cat]) {
+                        int p = ((mouse * n + prevCat) << 1) | 1;
+                        if (decide(p, result == CAT_WIN, CAT_WIN, MOUSE_WIN)) {
+                            if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                            found[count++] = p;
+                        }
+                    }
+                } else {
+                    // Predecessors (prevMouse, cat, MOUSE_TURN)
+                    for (int prevMouse : graph[mouse]) {
+                        int p = (prevMouse * n + cat) << 1;
+                        if (decide(p, result == MOUSE_WIN, MOUSE_WIN, CAT_WIN)) {
+                            if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                            found[count++] = p;
+                        }
+                    }
+                }
             }
-        } else {
-            // Current turn is cat's, so previous turn was mouse's turn
-            // Mouse moved last, cat position same, mouse moved from a neighbor of current mouse
-            for (int prevMouse : graph[mouse]) {
-                parents.add(new State(prevMouse, cat, MOUSE_TURN));
+
+            // Publish this batch's states with a single reservation
+            int at = tail.getAndAdd(count);
+            System.arraycopy(found, 0, queue, at, count);
+        }
+
+        /**
+         * Applies one decided successor to predecessor p.
+         *
+         * @param winning True if the successor is a win for the player moving at p.
+         * @return True if this call decided p (and the caller must queue it).
+         */
+        private boolean decide(int p, boolean winning, int win, int loss) {
+            if ((byte) RESULT.getOpaque(results, p) != DRAW) return false;  // Already known
+            if (winning) {
+                return RESULT.compareAndSet(results, p, (byte) DRAW, (byte) win);
             }
+            // The last losing successor decides p; a win claimed meanwhile makes the CAS fail
+            if (decrementDegree(p) != 1) return false;
+            return RESULT.compareAndSet(results, p, (byte) DRAW, (byte) loss);
+        }
+
+        /**
+         * Atomically decrements degree[p].
+         * A compare-and-set loop rather than getAndAdd, whose short result is not reliably narrowed
+         * by the JIT on some JDK 17 builds.
+         *
+         * @return The degree before the decrement.
+         */
+        private short decrementDegree(int p) {
+            short before;
+            do {
+                before = (short) DEGREE.getVolatile(degree, p);
+            } while (!DEGREE.weakCompareAndSet(degree, p, before, (short) (before - 1)));
+            return before;
         }
-        return parents;
     }
+
     /**
-     * State class to represent a game state for BFS processing.
+     * degree[state] = number of moves for the player to move: all neighbours for the mouse,
+     * neighbours other than 0 (the treasure) for the cat.
      */
-    private static class State {
-        int mouse;
-        int cat;
-        int turn;
-        int result;
-        State(int mouse, int cat, int turn) {
-            this.mouse = mouse;
-            this.cat = cat;
-            this.turn = turn;
+    static short[] initialDegrees(int[][] graph) {
+        int n = graph.length;
+        short[] catMoves = new short[n];
+        for (int cat = 0; cat < n; cat++) {
+            if (graph[cat].length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Node " + cat + " has too many neighbours");
+            }
+            for (int nextCat : graph[cat]) {
+                if (nextCat != 0) catMoves[cat]++;
+            }
+        }
+        short[] degree = new short[2 * n * n];
+        for (int mouse = 0; mouse < n; mouse++) {
+            short mouseMoves = (short) graph[mouse].length;
+            int base = mouse * n * 2;
+            for (int cat = 0; cat < n; cat++) {
+                degree[base + 2 * cat] = mouseMoves;
+                degree[base + 2 * cat + 1] = catMoves[cat];
+            }
         }
-        State(int mouse, int cat, int turn, int result) {
-            this.mouse = mouse;
-            this.cat = cat;
-            this.turn = turn;
-            this.result = result;
-        }  }
+        return degree;
+    }
+
     // Test Example
     public static void main(String[] args) {
         TreasureHuntGame game = new TreasureHuntGame();
@@ -181,4 +410,11 @@ public class TreasureHuntGame {
         };
         int result = game.treasureGame(graph);
         System.out.println("Game Result: " + result); // Expected output: 0 (Draw)
-    }}
+        System.out.println("Parallel Result: " + game.treasureGameParallel(graph)); // Expected output: 0 (Draw)
+
+        // Solve once, then query other start positions on the same board
+        GameSolution solution = game.solveAll(graph);
+        System.out.println("Mouse at 2, cat at 4: " + solution.outcome(2, 4, MOUSE_TURN)); // Expected output: 1
+        System.out.println("Best move: " + solution.bestMove(2, 4, MOUSE_TURN));           // Expected output: 0
+    }
+}
@@ -1,6 +1,12 @@
 package dsa;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 public class WeatherAnomaly {
 
+    // Default number of prefix sums below which a fork-join task counts sequentially
+    public static final int DEFAULT_PARTITION_SIZE = 1 << 13;
+
     /**
      * Brute-force method to count the number of valid periods (subarrays)
      * where the sum of temperature changes is within the specified range [lowThreshold, highThreshold].
@@ -34,15 +40,189 @@ public class WeatherAnomaly {
         return count;  // Return total number of valid periods
     }
 
+    /**
+     * Counts the number of valid periods (subarrays) whose sum of temperature changes
+     * lies within [lowThreshold, highThreshold], using prefix sums and merge-sort counting.
+     *
+     * A period [start, end] is valid when lowThreshold <= prefix[end + 1] - prefix[start] <= highThreshold,
+     * so we count pairs (i < j) of prefix sums whose difference falls in the range. While merge-sorting
+     * the prefix sums, every left-half value is paired with the sorted right half using two pointers.
+     *
+     * Prefix sums are kept as long so very long feeds cannot overflow, and the count is a long
+     * because n(n+1)/2 periods exceed the int range once n passes ~65k.
+     *
+     * Time Complexity: O(n log n)
+     * Space Complexity: O(n)
+     *
+     * @param temperature_changes Array of daily temperature changes.
+     * @param lowThreshold Lower bound of the acceptable total temperature change.
+     * @param highThreshold Upper bound of the acceptable total temperature change.
+     * @return Number of valid periods that fall within the given threshold range.
+     */
+    public static long countValidPeriods(int[] temperature_changes, int lowThreshold, int highThreshold) {
+        if (lowThreshold > highThreshold) return 0;  // An inverted band contains no sum
+        long[] prefix = prefixSums(temperature_changes);
+        long[] buffer = new long[prefix.length];  // Scratch space reused by every merge step
+        return countAndSort(prefix, buffer, 0, prefix.length, lowThreshold, highThreshold);
+    }
+
+    /**
+     * Parallel version of countValidPeriods using the common fork-join pool and the default partition size.
+     *
+     * @param temperature_changes Array of daily temperature changes.
+     * @param lowThreshold Lower bound of the acceptable total temperature change.
+     * @param highThreshold Upper bound of the acceptable total temperature change.
+     * @return Number of valid periods that fall within the given threshold range.
+     */
+    public static long countValidPeriodsParallel(int[] temperature_changes, int lowThreshold, int highThreshold) {
+        return countValidPeriodsParallel(temperature_changes, lowThreshold, highThreshold,
+                DEFAULT_PARTITION_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Divide-and-conquer count of valid periods on a fork-join pool.
+     *
+     * The prefix sum range is split in half; periods inside each half are counted by two forked tasks,
+     * and periods crossing the split are counted from the two sorted halves. Sorted left prefix sums
+     * correspond to suffix sums ending at the split, sorted right prefix sums to prefix sums starting there,
+     * so a crossing period is valid exactly when their difference lies in the range.
+     *
+     * Time Complexity: O(n log n) work, O(n) span for the final merge
+     * Space Complexity: O(n)
+     *
+     * @param temperature_changes Array of daily temperature changes.
+     * @param lowThreshold Lower bound of the acceptable total temperature change.
+     * @param highThreshold Upper bound of the acceptable total temperature change.
+     * @param partitionSize Number of prefix sums below which a task stops splitting and counts sequentially.
+     * @param pool Fork-join pool that runs the tasks.
+     * @return Number of valid periods that fall within the given threshold range.
+     */
+    public static long countValidPeriodsParallel(int[] temperature_changes, int lowThreshold, int highThreshold,
+                                                 int partitionSize, ForkJoinPool pool) {
+        if (partitionSize < 2) {
+            throw new IllegalArgumentException("Partition size must be at least 2: " + partitionSize);
+        }
+        if (lowThreshold > highThreshold) return 0;  // An inverted band contains no sum
+        long[] prefix = prefixSums(temperature_changes);
+        long[] buffer = new long[prefix.length];
+        return pool.invoke(new CountTask(prefix, buffer, 0, prefix.length, lowThreshold, highThreshold, partitionSize));
+    }
+
+    /**
+     * Fork-join task counting valid pairs in prefix[from..to) and leaving that range sorted.
+     * Sibling tasks work on disjoint ranges of prefix and buffer, so no synchronization is needed.
+     */
+    @SuppressWarnings("serial")
+    private static class CountTask extends RecursiveTask<Long> {
+        private final long[] prefix, buffer;
+        private final int from, to;
+        private final long low, high;
+        private final int partitionSize;
+
+        CountTask(long[] prefix, long[] buffer, int from, int to, long low, long high, int partitionSize) {
+            this.prefix = prefix;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.low = low;
+            this.high = high;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        protected Long compute() {
+            // Small partitions are cheaper to count on the current thread
+            if (to - from <= partitionSize) {
+                return countAndSort(prefix, buffer, from, to, low, high);
+            }
+
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(prefix, buffer, from, mid, low, high, partitionSize);
+            CountTask right = new CountTask(prefix, buffer, mid, to, low, high, partitionSize);
+            left.fork();                               // Count the left half asynchronously
+            long count = right.compute() + left.join(); // Count the right half on this thread
+            return count + countCrossAndMerge(prefix, buffer, from, mid, to, low, high);
+        }
+    }
+
+    /**
+     * Builds the prefix sum array where prefix[i] is the sum of the first i temperature changes.
+     *
+     * @param temperature_changes Array of daily temperature changes.
+     * @return Array of n + 1 prefix sums, starting with 0.
+     */
+    static long[] prefixSums(int[] temperature_changes) {
+        long[] prefix = new long[temperature_changes.length + 1];
+        for (int i = 0; i < temperature_changes.length; i++) {
+            prefix[i + 1] = prefix[i] + temperature_changes[i];
+        }
+        return prefix;
+    }
+
+    /**
+     * Recursively counts pairs (i < j) in prefix[from..to) with low <= prefix[j] - prefix[i] <= high,
+     * leaving that range sorted in ascending order.
+     *
+     * @return Number of valid pairs inside the range.
+     */
+    static long countAndSort(long[] prefix, long[] buffer, int from, int to, long low, long high) {
+        if (to - from <= 1) return 0;  // A single prefix sum forms no period
+
+        int mid = (from + to) >>> 1;
+        long count = countAndSort(prefix, buffer, from, mid, low, high)
+                   + countAndSort(prefix, buffer, mid, to, low, high);
+        return count + countCrossAndMerge(prefix, buffer, from, mid, to, low, high);
+    }
+
+    /**
+     * Counts pairs with i in the sorted left half [from, mid) and j in the sorted right half [mid, to),
+     * then merges both halves so prefix[from..to) is sorted.
+     *
+     * @return Number of valid pairs crossing the midpoint.
+     */
+    static long countCrossAndMerge(long[] prefix, long[] buffer, int from, int mid, int to, long low, long high) {
+        long count = 0;
+
+        // Step 1: For each left value, the right values in [left + low, left + high] form a window
+        // that only slides forward because both halves are sorted
+        int lo = mid, hi = mid;
+        for (int i = from; i < mid; i++) {
+            while (lo < to && prefix[lo] - prefix[i] < low) lo++;    // First right value inside the window
+            while (hi < to && prefix[hi] - prefix[i] <= high) hi++;  // First right value past the window
+            count += hi - lo;
+        }
+
+        // Step 2: Standard merge of the two sorted halves through the scratch buffer
+        int left = from, right = mid, out = from;
+        while (left < mid && right < to) {
+            buffer[out++] = prefix[left] <= prefix[right] ? prefix[left++] : prefix[right++];
+        }
+        while (left < mid) buffer[out++] = prefix[left++];
+        while (right < to) buffer[out++] = prefix[right++];
+        System.arraycopy(buffer, from, prefix, from, to - from);
+
+        return count;
+    }
+
     public static void main(String[] args) {
         // Test case 1
         int[] arr1 = {3, -1, -4, 6, 2};
         int low1 = 2, high1 = 5;
         System.out.println("Brute force result (Example 1): " + countValidPeriodsBruteForce(arr1, low1, high1));  // Output: 7
+        System.out.println("Merge-sort result (Example 1): " + countValidPeriods(arr1, low1, high1));  // Output: 7
+        System.out.println("Fork-join result (Example 1): " + countValidPeriodsParallel(arr1, low1, high1));  // Output: 7
 
         // Test case 2
         int[] arr2 = {-2, 3, 8, -5, 7};
         int low2 = -1, high2 = 2;
         System.out.println("Brute force result (Example 2): " + countValidPeriodsBruteForce(arr2, low2, high2));  // Output: 2
+        System.out.println("Merge-sort result (Example 2): " + countValidPeriods(arr2, low2, high2));  // Output: 2
+        System.out.println("Fork-join result (Example 2): " + countValidPeriodsParallel(arr2, low2, high2));  // Output: 2
+
+        // Test case 3: inverted band, no period can match
+        int low3 = 5, high3 = 2;
+        System.out.println("Brute force result (Example 3): " + countValidPeriodsBruteForce(arr1, low3, high3));  // Output: 0
+        System.out.println("Merge-sort result (Example 3): " + countValidPeriods(arr1, low3, high3));  // Output: 0
+        System.out.println("Fork-join result (Example 3): " + countValidPeriodsParallel(arr1, low3, high3));  // Output: 0
     }
 }
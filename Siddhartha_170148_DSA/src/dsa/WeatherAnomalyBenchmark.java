@@ -0,0 +1,64 @@
+package dsa;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class WeatherAnomalyBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;    // Untimed rounds so the JIT compiles the hot paths
+    private static final int MEASURED_ROUNDS = 5;  // Timed rounds averaged into the reported throughput
+
+    /**
+     * Measures how the fork-join count scales with the number of worker threads.
+     *
+     * Usage: java dsa.WeatherAnomalyBenchmark [n] [partitionSize]
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int partitionSize = args.length > 1 ? Integer.parseInt(args[1]) : WeatherAnomaly.DEFAULT_PARTITION_SIZE;
+
+        // Random hourly deltas in [-10, 10] with a band around zero
+        Random random = new Random(42);
+        int[] temperature_changes = new int[n];
+        for (int i = 0; i < n; i++) {
+            temperature_changes[i] = random.nextInt(21) - 10;
+        }
+        int low = -50, high = 50;
+
+        System.out.printf("n = %,d, partition size = %,d%n", n, partitionSize);
+
+        double sequential = measure(() -> WeatherAnomaly.countValidPeriods(temperature_changes, low, high));
+        System.out.printf("sequential merge-sort: %8.3f ms/op%n", sequential);
+
+        // Powers of two up to the core count, always finishing with all cores
+        int cores = Runtime.getRuntime().availableProcessors();
+        TreeSet<Integer> threadCounts = new TreeSet<>();
+        for (int threads = 1; threads < cores; threads *= 2) threadCounts.add(threads);
+        threadCounts.add(cores);
+
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double parallel = measure(() -> WeatherAnomaly.countValidPeriodsParallel(
+                    temperature_changes, low, high, partitionSize, pool));
+            pool.shutdown();
+            System.out.printf("fork-join %3d threads: %8.3f ms/op (speedup %.2fx)%n",
+                    threads, parallel, sequential / parallel);
+        }
+    }
+
+    /**
+     * Runs the task for the warmup and measured rounds.
+     *
+     * @return Average milliseconds per measured round.
+     */
+    private static double measure(java.util.function.LongSupplier task) {
+        long sink = 0;  // Consumed results so the JIT cannot drop the work
+        for (int i = 0; i < WARMUP_ROUNDS; i++) sink += task.getAsLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) sink += task.getAsLong();
+        long elapsed = System.nanoTime() - start;
+
+        if (sink == Long.MIN_VALUE) System.out.println(sink);
+        return elapsed / 1e6 / MEASURED_ROUNDS;
+    }
+}
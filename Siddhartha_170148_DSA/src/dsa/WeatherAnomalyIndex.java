@@ -0,0 +1,183 @@
+package dsa;
+import java.util.*;
+import java.util.stream.IntStream;
+
+public class WeatherAnomalyIndex {
+
+    private final int n;                 // Number of temperature changes indexed
+    private final long[] prefix;         // prefix[i] = sum of the first i temperature changes
+    private final long[] sortedDistinct; // Distinct prefix sums in ascending order (rank -> value)
+
+    // Wavelet matrix over the prefix sum ranks, one bit vector per level (most significant bit first)
+    private final int levels;
+    private final long[][] bits;         // bits[level][word] = packed bits of that level
+    private final int[][] blockRank;     // blockRank[level][word] = number of 1 bits before that word
+    private final int[] zeros;           // zeros[level] = number of 0 bits in that level
+
+    /**
+     * Builds the index once for a temperature change array. Every band query afterwards reuses
+     * the sorted prefix sums and the wavelet matrix, so no per-query sorting or allocation is needed.
+     *
+     * Time Complexity: O(n log n) to build
+     * Space Complexity: O(n) words for the prefix sums plus O(n log n) bits for the wavelet matrix
+     *
+     * @param temperature_changes Array of daily temperature changes.
+     */
+    public WeatherAnomalyIndex(int[] temperature_changes) {
+        n = temperature_changes.length;
+        prefix = WeatherAnomaly.prefixSums(temperature_changes);
+
+        // Step 1: Compress prefix sums into ranks 0..sigma-1
+        long[] sorted = prefix.clone();
+        Arrays.sort(sorted);
+        int sigma = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[sigma++] = sorted[i];
+        }
+        sortedDistinct = Arrays.copyOf(sorted, sigma);
+
+        int[] ranks = new int[prefix.length];
+        for (int i = 0; i < prefix.length; i++) {
+            ranks[i] = Arrays.binarySearch(sortedDistinct, prefix[i]);
+        }
+
+        // Step 2: Build the wavelet matrix level by level, stably moving 0 bits to the front
+        levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(sigma - 1));
+        int words = (prefix.length >>> 6) + 1;
+        bits = new long[levels][words];
+        blockRank = new int[levels][words];
+        zeros = new int[levels];
+
+        int[] next = new int[prefix.length];
+        for (int level = 0; level < levels; level++) {
+            int shift = levels - 1 - level;
+            int zeroCount = 0;
+            for (int i = 0; i < ranks.length; i++) {
+                if (((ranks[i] >>> shift) & 1) == 1) {
+                    bits[level][i >>> 6] |= 1L << (i & 63);
+                } else {
+                    zeroCount++;
+                }
+            }
+            zeros[level] = zeroCount;
+
+            int ones = 0;
+            for (int w = 0; w < words; w++) {
+                blockRank[level][w] = ones;
+                ones += Long.bitCount(bits[level][w]);
+            }
+
+            int zeroPos = 0, onePos = zeroCount;
+            for (int rank : ranks) {
+                if (((rank >>> shift) & 1) == 1) next[onePos++] = rank;
+                else next[zeroPos++] = rank;
+            }
+            int[] swap = ranks;
+            ranks = next;
+            next = swap;
+        }
+    }
+
+    /**
+     * Counts valid periods whose total temperature change lies within [lowThreshold, highThreshold].
+     * For each period end j, the wavelet matrix counts earlier prefix sums in
+     * [prefix[j] - highThreshold, prefix[j] - lowThreshold] in O(log n) without touching other positions.
+     *
+     * Time Complexity: O(n log n) per band, with no allocation
+     *
+     * @param lowThreshold Lower bound of the acceptable total temperature change.
+     * @param highThreshold Upper bound of the acceptable total temperature change.
+     * @return Number of valid periods that fall within the given threshold range.
+     */
+    public long count(int lowThreshold, int highThreshold) {
+        if (lowThreshold > highThreshold) return 0;
+
+        long count = 0;
+        for (int end = 1; end <= n; end++) {
+            int fromRank = lowerBound(prefix[end] - highThreshold);     // First rank inside the band
+            int toRank = lowerBound(prefix[end] - lowThreshold + 1);    // First rank past the band
+            if (fromRank < toRank) {
+                count += countLess(end, toRank) - countLess(end, fromRank);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Answers a batch of [low, high] bands, evaluating the bands in parallel.
+     * The index is read-only after construction, so bands can share it without locking.
+     *
+     * @param bands Array of bands; each band is represented as [lowThreshold, highThreshold].
+     * @return Number of valid periods for each band, in the same order as the input.
+     */
+    public long[] countAll(int[][] bands) {
+        long[] results = new long[bands.length];
+        IntStream.range(0, bands.length)
+                 .parallel()
+                 .forEach(b -> results[b] = count(bands[b][0], bands[b][1]));
+        return results;
+    }
+
+    /**
+     * @return Index of the first distinct prefix sum that is >= value.
+     */
+    private int lowerBound(long value) {
+        int lo = 0, hi = sortedDistinct.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedDistinct[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Counts prefix sums at positions [0, to) whose rank is strictly below the given rank.
+     */
+    private int countLess(int to, int rank) {
+        if (rank <= 0) return 0;
+        if (rank >= sortedDistinct.length) return to;
+
+        int from = 0, less = 0;
+        for (int level = 0; level < levels; level++) {
+            int onesFrom = rank1(level, from);
+            int onesTo = rank1(level, to);
+            if (((rank >>> (levels - 1 - level)) & 1) == 1) {
+                // Everything going to the 0 side at this level is smaller than rank
+                less += (to - onesTo) - (from - onesFrom);
+                from = zeros[level] + onesFrom;
+                to = zeros[level] + onesTo;
+            } else {
+                from -= onesFrom;
+                to -= onesTo;
+            }
+        }
+        return less;
+    }
+
+    /**
+     * @return Number of 1 bits in positions [0, pos) of the given level.
+     */
+    private int rank1(int level, int pos) {
+        int word = pos >>> 6;
+        long mask = (1L << (pos & 63)) - 1;
+        return blockRank[level][word] + Long.bitCount(bits[level][word] & mask);
+    }
+
+    public static void main(String[] args) {
+        int[] arr = {3, -1, -4, 6, 2};
+        WeatherAnomalyIndex index = new WeatherAnomalyIndex(arr);
+
+        // Several dashboard bands answered from one index
+        int[][] bands = {
+            {2, 5},    // Output: 7 (same as WeatherAnomaly Example 1)
+            {-1, 2},   // Output: 5
+            {0, 0},    // Output: 0
+            {-10, 10}  // Output: 15 (every period)
+        };
+        long[] results = index.countAll(bands);
+        for (int b = 0; b < bands.length; b++) {
+            System.out.println("Band [" + bands[b][0] + ", " + bands[b][1] + "]: " + results[b]);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package dsa;
+import java.util.*;
+
+public class WeatherAnomalyStream {
+
+    private final long lowThreshold;   // Lower bound of the acceptable total temperature change
+    private final long highThreshold;  // Upper bound of the acceptable total temperature change
+    private final int windowSize;      // Number of most recent readings kept; 0 means unbounded
+
+    // Order-statistics tree (treap) holding the prefix sums that can still start a period
+    private Node root;
+    private final Random random = new Random();
+
+    // Ring buffer of the prefix sums inside the window, only used in sliding-window mode
+    private final long[] windowPrefix;
+    private int oldest;                // Position of the oldest prefix sum in the ring buffer
+    private int readingsInWindow;      // Number of readings currently inside the window
+
+    private long prefix;               // Sum of every temperature change appended so far
+    private long readings;             // Total number of readings appended so far
+    private long validPeriods;         // Running count of valid periods
+
+    /**
+     * Creates an unbounded stream that counts valid periods over the whole history.
+     *
+     * @param lowThreshold Lower bound of the acceptable total temperature change.
+     * @param highThreshold Upper bound of the acceptable total temperature change.
+     */
+    public WeatherAnomalyStream(int lowThreshold, int highThreshold) {
+        this(lowThreshold, highThreshold, 0);
+    }
+
+    /**
+     * Creates a stream that only counts valid periods lying fully inside the last windowSize readings.
+     * Older readings are expired as new ones arrive, so memory stays proportional to windowSize.
+     *
+     * @param lowThreshold Lower bound of the acceptable total temperature change.
+     * @param highThreshold Upper bound of the acceptable total temperature change.
+     * @param windowSize Number of most recent readings to keep, or 0 for an unbounded history.
+     */
+    public WeatherAnomalyStream(int lowThreshold, int highThreshold, int windowSize) {
+        if (windowSize < 0) {
+            throw new IllegalArgumentException("Window size must not be negative: " + windowSize);
+        }
+        this.lowThreshold = lowThreshold;
+        this.highThreshold = highThreshold;
+        this.windowSize = windowSize;
+        this.windowPrefix = windowSize > 0 ? new long[windowSize + 1] : null;
+
+        // The empty prefix (sum 0) is the start of every period beginning at the first reading
+        root = insert(root, 0L);
+        if (windowPrefix != null) windowPrefix[0] = 0L;
+    }
+
+    /**
+     * Appends a new temperature change and updates the count of valid periods.
+     * Every earlier prefix sum p with low <= prefix - p <= high starts a new valid period ending here.
+     *
+     * Time Complexity: O(log n) expected, where n is the number of stored prefix sums
+     *
+     * @param delta The new temperature change.
+     */
+    public void append(int delta) {
+        // Step 1: In sliding-window mode, drop the oldest reading first if the window is full
+        if (windowPrefix != null && readingsInWindow == windowSize) {
+            expireOldest();
+        }
+
+        // Step 2: Count earlier prefix sums in [prefix - high, prefix - low]
+        prefix += delta;
+        validPeriods += countInRange(prefix - highThreshold, prefix - lowThreshold);
+
+        // Step 3: Store the new prefix sum so later readings can pair with it
+        root = insert(root, prefix);
+        readings++;
+        if (windowPrefix != null) {
+            windowPrefix[(oldest + readingsInWindow + 1) % windowPrefix.length] = prefix;
+            readingsInWindow++;
+        }
+    }
+
+    /**
+     * Removes the oldest reading from the window together with every valid period that starts with it.
+     */
+    private void expireOldest() {
+        long expired = windowPrefix[oldest];
+        root = remove(root, expired);
+        oldest = (oldest + 1) % windowPrefix.length;
+        readingsInWindow--;
+
+        // Periods starting at the expired reading end at a later prefix sum in [expired + low, expired + high]
+        validPeriods -= countInRange(expired + lowThreshold, expired + highThreshold);
+    }
+
+    /**
+     * @return Number of valid periods in the history (or in the current window in sliding-window mode).
+     */
+    public long getValidPeriodCount() {
+        return validPeriods;
+    }
+
+    /**
+     * @return Total number of readings appended, including ones that have since expired.
+     */
+    public long getReadingCount() {
+        return readings;
+    }
+
+    /**
+     * Counts stored prefix sums within [from, to].
+     */
+    private long countInRange(long from, long to) {
+        if (from > to) return 0;
+        return countLessThan(to + 1) - countLessThan(from);
+    }
+
+    // ---------------------------------------------------------------------
+    // Treap with subtree sizes: each node stores one distinct prefix sum and
+    // how many times it occurs, so duplicates do not grow the tree
+    // ---------------------------------------------------------------------
+
+    /**
+     * Node of the treap. size is the total multiplicity of the subtree rooted here.
+     */
+    private static class Node {
+        long key;
+        int priority;
+        long count;
+        long size;
+        Node left, right;
+
+        Node(long key, int priority) {
+            this.key = key;
+            this.priority = priority;
+            this.count = 1;
+            this.size = 1;
+        }
+    }
+
+    private static long size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = node.count + size(node.left) + size(node.right);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node insert(Node node, long key) {
+        if (node == null) return new Node(key, random.nextInt());
+
+        if (key == node.key) {
+            node.count++;
+        } else if (key < node.key) {
+            node.left = insert(node.left, key);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, key);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, long key) {
+        if (node == null) return null;  // Key not present, nothing to remove
+
+        if (key < node.key) {
+            node.left = remove(node.left, key);
+        } else if (key > node.key) {
+            node.right = remove(node.right, key);
+        } else if (node.count > 1) {
+            node.count--;
+        } else {
+            // Rotate the node down until it has at most one child, then splice it out
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = remove(node.right, key);
+            } else {
+                node = rotateLeft(node);
+                node.left = remove(node.left, key);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Counts stored prefix sums strictly smaller than key by walking one root-to-leaf path.
+     */
+    private long countLessThan(long key) {
+        long less = 0;
+        Node node = root;
+        while (node != null) {
+            if (key <= node.key) {
+                node = node.left;
+            } else {
+                less += size(node.left) + node.count;
+                node = node.right;
+            }
+        }
+        return less;
+    }
+
+    public static void main(String[] args) {
+        // Test case 1: same readings as WeatherAnomaly Example 1, streamed one by one
+        int[] arr1 = {3, -1, -4, 6, 2};
+        WeatherAnomalyStream stream1 = new WeatherAnomalyStream(2, 5);
+        for (int delta : arr1) {
+            stream1.append(delta);
+            System.out.println("After " + stream1.getReadingCount() + " readings: " + stream1.getValidPeriodCount());
+        }
+        // Output: 7 after all readings, matching WeatherAnomaly.countValidPeriodsBruteForce
+
+        // Test case 2: sliding window of the 3 most recent readings
+        int[] arr2 = {-2, 3, 8, -5, 7};
+        WeatherAnomalyStream stream2 = new WeatherAnomalyStream(-1, 2, 3);
+        for (int delta : arr2) {
+            stream2.append(delta);
+        }
+        System.out.println("Sliding window result (Example 2): " + stream2.getValidPeriodCount());
+        // Output: 1, since only the period {-5, 7} inside the window {8, -5, 7} sums into [-1, 2]
+    }
+}